@@ -0,0 +1,83 @@
+package app.controllers;
+
+import app.engine.GameInput;
+import app.engine.GameLoopBenchmark;
+import app.engine.GameWorld;
+import app.models.RenderBackend;
+import app.models.SpaceCanvas;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/* One frame of each render backend, from the step of the world to pixels read back from the pipeline.
+ * Needs a display, run with -Dprism.order=sw to compare them on the software pipeline */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"CANVAS", "FRAMEBUFFER"})
+    public String backend;
+
+    //Few sprites moving, and thousands of bullets redrawing the whole screen
+    @Param({"HARD", "BULLET_HELL"})
+    public String preset;
+
+    private GameWorld world;
+    private GameInput input;
+    private RenderController renderController;
+    private Node node;
+    private WritableImage snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        //Backend is read when the canvas is built, once by fork
+        SpaceCanvas.setBackend(RenderBackend.valueOf(backend));
+        onFxThread(() -> {
+            world = GameLoopBenchmark.createWorld(preset);
+            input = new GameInput();
+            renderController = new RenderController(SpaceCanvas.getInstance().getSurface());
+            node = SpaceCanvas.getInstance().getSurface().getNode();
+            snapshot = new WritableImage(GameWorld.WIDTH, GameWorld.HEIGHT);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Platform.exit();
+    }
+
+    @Benchmark
+    public WritableImage frame() throws Exception {
+        onFxThread(() -> {
+            world.step(input);
+            if ( world.isGameOver() ) {
+                world.reset();
+                renderController.invalidate();
+            }
+            renderController.render(world, 1);
+
+            //Canvas commands are only rasterized when the node is rendered, a snapshot forces it for both backends
+            node.snapshot(null, snapshot);
+        });
+        return snapshot;
+    }
+
+    private static void onFxThread(Runnable runnable) throws Exception {
+        FutureTask<Void> task = new FutureTask<>(runnable, null);
+        Platform.runLater(task);
+        task.get();
+    }
+}
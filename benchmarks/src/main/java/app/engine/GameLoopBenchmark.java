@@ -0,0 +1,149 @@
+package app.engine;
+
+import app.engine.ecs.Archetype;
+import app.models.FrameTable;
+import app.models.Sprite;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLoopBenchmark {
+
+    //Options presets, the same presets with 10 times more aliens, and bullet hell mode with thousands of bullets
+    @Param({"EASY", "MEDIUM", "HARD", "EASY_X10", "MEDIUM_X10", "HARD_X10", "BULLET_HELL"})
+    public String preset;
+
+    private static final int BULLET_HELL_BULLETS = 5000;
+
+    //Bullets in flight during the benchmark
+    @Param({"10"})
+    public int bullets;
+
+    private GameWorld world;
+    private GameInput input;
+    private Sprite sprite;
+    private boolean areAllowedMovingRight;
+    private long clock;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = createWorld(preset);
+        input = new GameInput();
+        sprite = world.getSpaceship().getSprite();
+        areAllowedMovingRight = true;
+        fillBullets();
+    }
+
+    public static GameWorld createWorld(String preset) {
+        if ( preset.equals("BULLET_HELL") ) {
+            return createBulletHellWorld();
+        }
+
+        boolean stress = preset.endsWith("_X10");
+        Difficulty difficulty = Difficulty.valueOf(stress ? preset.substring(0, preset.length() - 4) : preset);
+
+        if ( !stress ) {
+            return new GameWorld(difficulty.getAliensPerRow(), difficulty.getAliensPerColumn(), difficulty.getAlienXSpeed());
+        }
+
+        //10 times more rows of aliens, in a world tall enough to keep them away from the spaceship
+        int aliensPerColumn = (difficulty.getAliensPerColumn() + 1) * 10 - 1;
+        int height = GameWorld.HEIGHT + (aliensPerColumn + 1) * 31;
+        return new GameWorld(GameWorld.WIDTH, height, difficulty.getAliensPerRow(), aliensPerColumn, difficulty.getAlienXSpeed(), GameWorld.BULLETS_CAPACITY, GameMode.CLASSIC);
+    }
+
+    //Medium wave after enough steps to fill the screen with bullets of aliens
+    static GameWorld createBulletHellWorld() {
+        Difficulty difficulty = Difficulty.MEDIUM;
+        GameWorld world = new GameWorld(difficulty.getAliensPerRow(), difficulty.getAliensPerColumn(), difficulty.getAlienXSpeed(), GameMode.BULLET_HELL);
+        GameInput input = new GameInput();
+        //Keep spaceship out of the canvas, a hit would clear the bullets
+        world.getSpaceship().getX()[0] = -world.getWidth();
+        while ( world.getEnemyBullets().getSize() < BULLET_HELL_BULLETS && world.getTick() < 10_000 && !world.isGameOver() ) {
+            world.step(input);
+        }
+        return world;
+    }
+
+    //Put bullets below the aliens, so collision checks never remove them
+    private void fillBullets() {
+        Archetype playerBullets = world.getPlayerBullets();
+        while ( playerBullets.getSize() < bullets ) {
+            world.createBullet();
+            playerBullets.getX()[playerBullets.getSize() - 1] = (playerBullets.getSize() * 53) % (world.getWidth() - playerBullets.getWidth());
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        //Fire every 4 steps like a player holding the key
+        if ( world.getTick() % 4 == 0 ) {
+            input.pressFire();
+        }
+        world.step(input);
+        input.clear();
+
+        if ( world.isGameOver() ) {
+            world.reset();
+        }
+    }
+
+    @Benchmark
+    public void bulletAlienCollisionHandler() {
+        world.bulletAlienCollisionHandler();
+    }
+
+    @Benchmark
+    public boolean moveAliens() {
+        areAllowedMovingRight = world.moveAliens(areAllowedMovingRight);
+        return areAllowedMovingRight;
+    }
+
+    //Aliens of the world back at the top before each descent
+    @State(Scope.Thread)
+    public static class AliensAtTop {
+        @Setup(Level.Invocation)
+        public void setUp(GameLoopBenchmark benchmark) {
+            GameWorld world = benchmark.world;
+            world.createAliens(world.getAliensPerRow(), world.getAliensPerColumn(), world.getAlienXSpeed());
+        }
+    }
+
+    //Whole descent of a wave down to the bottom of the world, a single move is too short to be timed with the reset of each invocation
+    @Benchmark
+    public int moveDownAliens(AliensAtTop aliensAtTop) {
+        int moves = 0;
+        while ( world.getAlienFormation().getMaxY() < world.getHeight() ) {
+            world.moveDownAliens();
+            moves++;
+        }
+        return moves;
+    }
+
+    @Benchmark
+    public void moveBullets() {
+        world.moveBullets();
+        //Replace bullets leaving the canvas
+        fillBullets();
+    }
+
+    @Benchmark
+    public void createAliens(Blackhole blackhole) {
+        world.createAliens(world.getAliensPerRow(), world.getAliensPerColumn(), world.getAlienXSpeed());
+        blackhole.consume(world.getAlienFormation());
+    }
+
+    @Benchmark
+    public int frameAt() {
+        //Frames are derived from the clock, nothing is updated by step
+        FrameTable frames = sprite.getFrames();
+        return frames.getDx(frames.frameAt(world.getTick() + (clock++), 0));
+    }
+}
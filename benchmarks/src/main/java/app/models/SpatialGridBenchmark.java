@@ -0,0 +1,67 @@
+package app.models;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialGridBenchmark {
+
+    //Time per operation should grow linearly with the number of entities
+    @Param({"100", "1000", "5000", "10000"})
+    public int entities;
+
+    private static final int SIZE = 20;
+    //Area per entity, kept constant so cells hold the same number of entities
+    private static final int AREA_PER_ENTITY = 40 * 40;
+
+    private int width;
+    private int height;
+    private SpatialGrid grid;
+    private int[] x;
+    private int[] y;
+    private int[] xSpeed;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(42);
+        width = height = (int) Math.sqrt((double) entities * AREA_PER_ENTITY);
+        grid = new SpatialGrid(width, height, 50);
+        x = new int[entities];
+        y = new int[entities];
+        xSpeed = new int[entities];
+
+        for ( int id = 0; id < entities; id++ ) {
+            x[id] = random.nextInt(width - SIZE);
+            y[id] = random.nextInt(height - SIZE);
+            xSpeed[id] = random.nextBoolean() ? 3 : -3;
+            grid.insert(id, x[id], y[id], SIZE, SIZE);
+        }
+    }
+
+    /* One collision pass: move every entity then query its neighbours */
+    @Benchmark
+    public int moveAndQuery() {
+        int candidates = 0;
+
+        for ( int id = 0; id < entities; id++ ) {
+            x[id] += xSpeed[id];
+            if ( x[id] <= 0 || x[id] >= width - SIZE ) {
+                xSpeed[id] = -xSpeed[id];
+            }
+            grid.move(id, x[id], y[id], SIZE, SIZE);
+        }
+
+        for ( int id = 0; id < entities; id++ ) {
+            candidates += grid.query(x[id], y[id], SIZE, SIZE);
+        }
+
+        return candidates;
+    }
+}
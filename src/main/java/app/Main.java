@@ -1,437 +1,408 @@
 package app;
 
+import app.controllers.GameOverController;
 import app.controllers.InformationController;
 import app.controllers.MenuController;
 import app.controllers.OptionsController;
+import app.controllers.PreloaderController;
+import app.controllers.RenderController;
+import app.engine.Autopilot;
+import app.engine.FrameMetrics;
+import app.engine.GameClock;
+import app.engine.GameInput;
+import app.engine.GameKey;
+import app.engine.GameMode;
+import app.engine.GameWorld;
+import app.engine.InputBuffer;
+import app.engine.Recording;
+import app.engine.SoakTest;
 import app.models.*;
 import app.views.GameOverView;
 import app.views.GameView;
 import app.views.MenuView;
 import app.views.OptionsView;
+import app.views.PreloaderView;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
 
 
 public class Main extends Application {
 
-    private MenuView menuView = MenuView.getInstance();
-    private GameView gameView = GameView.getInstance();
-    private OptionsView optionsView = OptionsView.getInstance();
-    private GameOverView gameOverView = GameOverView.getInstance();
     private Stage stage;
+    //Created on first navigation to their scene
+    private OptionsController optionsController;
+    private GameOverController gameOverController;
 
-    private SpaceCanvas spaceCanvas = SpaceCanvas.getInstance();
-    private Canvas canvas = spaceCanvas.getCanvas();
-    private InformationController informationController = new InformationController(canvas.getGraphicsContext2D(), canvas);
+    //Created with the first game
+    private SpaceCanvas spaceCanvas;
+    private InformationController informationController;
+    private RenderController renderController;
 
-    private Spaceship spaceship;
-    private List<Alien> mAliens;
-    private List<Bullet> mBullets;
+    //Game rules run headless, this class only feeds keys and renders the world
+    private GameWorld gameWorld;
+    private GameInput gameInput = new GameInput();
+    private InputBuffer inputBuffer = new InputBuffer();
+
+    //Keys of the current game, saved to replay it headless
+    private Recording recording;
+    private static final String RECORDINGS_DIRECTORY = "recordings";
 
     private AnimationTimer animationTimer;
 
-    private Player player = new Player("Player 1", 5, 5);
+    //Time spent in each phase of frames, shown with F3 and dumped to a file
+    private FrameMetrics frameMetrics = new FrameMetrics();
+    private boolean isShownMetrics = false;
+    private static final String METRICS_FILE = "metrics.txt";
+    private static final long METRICS_DUMP_SECONDS = 10;
+
+    //Scores of all games, opened with the first game over
+    private HighScores highScores;
+    private static final String HIGH_SCORES_FILE = "highscores.dat";
 
     public static int aliensPerRow = 8;
     public static int aliensPerColumn = 3;
     public static int alienXSpeed = 10;
+    public static GameMode gameMode = GameMode.CLASSIC;
+
+    //Unattended games driven by the autopilot, when launched with --soak-minutes
+    private SoakTest soakTest;
+    private Autopilot autopilot;
 
     private boolean isShownMenuScene = false;
-    private boolean aliensHaveNotJustBeenCreated = false;
 
     @Override
     public void start(Stage theStage) {
         this.stage = theStage;
-        //Add icon to application
-        stage.getIcons().add(new Image("images/icon.png"));
-
-        // initialisation du menu
-        new MenuController(this, this.stage);
-        // initialisation des options
-        new OptionsController(this, this.stage);
-
-
-        //Add events for scenes
-        keyboardEvents( menuView.getMenuScene() );
-        keyboardEvents( gameView.getGameScene() );
-        keyboardEvents( optionsView.getOptionsScene() );
+        try {
+            this.soakTest = SoakTest.fromOptions(getParameters().getNamed());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Launch options: --soak-minutes=480 [--soak-scale=2] [--soak-mode=classic|bullet_hell] [--soak-report=soak.txt]");
+            Platform.exit();
+            return;
+        }
+        //Canvas by default, framebuffer when JavaFX falls back to its software pipeline
+        SpaceCanvas.setBackend(RenderBackend.valueOf(getParameters().getNamed().getOrDefault("renderer", "canvas").toUpperCase(Locale.ROOT)));
 
-        //Create Scene
-        Scene scene = menuView.getMenuScene();
+        //Show progress while assets are loaded, views are built on first navigation
         theStage.setTitle("SpaceInvaders");
         theStage.setResizable(true);
-        theStage.setScene(scene);
+        theStage.setScene(PreloaderView.getInstance().getPreloaderScene());
         theStage.show();
-    }
+        onFirstFrame(() -> frameMetrics.setTimeToFirstFrame( ManagementFactory.getRuntimeMXBean().getUptime() ));
 
-    public void loadGame() {
-        //Clear canvas
-        if ( mAliens != null ) {
-            for (Alien alien : mAliens) {
-                spaceCanvas.clear(alien);
-            }
-        }
-        if ( mBullets != null ) {
-            for (Bullet bullet : mBullets) {
-                spaceCanvas.clear(bullet);
-            }
-        }
-        if ( spaceship != null ) {
-            spaceCanvas.clear(spaceship);
-        }
-
-        this.player.setLives(5);
-        this.player.setScore(0);
+        //Dump metrics regularly
+        frameMetrics.startDump( Paths.get(METRICS_FILE), METRICS_DUMP_SECONDS );
 
-        //Reset all components
-        this.spaceship = null;
-        this.mAliens = new ArrayList<>();
-        this.mBullets = new ArrayList<>();
-
-        //Write information
-        this.informationController.writeInformation(player, mAliens);
+        new PreloaderController(() -> {
+            //Add icon to application
+            stage.getIcons().add(SpriteSheet.get(PreloaderController.ICON).getImage());
 
-        //Create Spaceship and Aliens
-        createSpaceship();
-        createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
+            // initialisation du menu
+            new MenuController(this, this.stage);
+            if ( soakTest != null ) {
+                startSoakTest();
+                return;
+            }
+            showMenu();
+            onFirstFrame(() -> frameMetrics.setTimeToMenu( ManagementFactory.getRuntimeMXBean().getUptime() ));
+        }).start();
+    }
 
-        //Create a animation timer
-        this.animationTimer = new AnimationTimer() {
-            private long lastUpdateAliens = 0;
-            private boolean areAllowedMovingRight = true;
+    private void startSoakTest() {
+        //Autopilot holds fire like a player
+        autopilot = new Autopilot(InputBuffer.FIRE_REPEAT_TICKS);
+        soakTest.start();
+        loadGame();
+        showGame();
+    }
 
+    private void finishSoakTest() {
+        try {
+            soakTest.writeReport(frameMetrics);
+        } catch (IOException e) {
+            System.err.println("Cannot write soak report " + soakTest.getReportFile() + ": " + e);
+        }
+        System.out.print(soakTest.report(frameMetrics));
+        Platform.exit();
+    }
 
+    /* Run action at the next pulse, when the scene shown is painted */
+    private void onFirstFrame(Runnable action) {
+        new AnimationTimer() {
             @Override
             public void handle(long now) {
-                //Write information
-                informationController.writeInformation(player, mAliens);
-
-                /*
-                 * Les aliens se déplacent de gauche à droite et descendent lorsqu'il touchent le bord du canvas
-                 *
-                 /* Les bullets se déplacent de bas en haut et détruisent les aliens à leur contact */
-
-                for (int i = 0; i < 5; i++) moveBullets();
-
-
-                /* Check collision between Bullet and Alien
-                 * Les aliens se déplacent de gauche à droite et descendent lorsqu'il touchent le bord du canvas
-                 *
-                 * Les bullets se déplacent de bas en haut et détruisent les aliens à leur contact
-                 *
-                 * Le spaceship se délplace de gauche à droite
-                 *
-                 * Elements qui demandent une action de l'utilisateur :
-                 *  - Spaceship
-                 *  - Bullet
-                 *
-                 * Elements qui ne demandent pas d'action de l'utilisateur :
-                 *  - Alien
-                 *
-                 * */
-                if (now - lastUpdateAliens >= 28_000_000 * 10) {
-                    //Change direction of aliens if one alien exceed min/max of canvas
-                    areAllowedMovingRight = moveAliens(this.areAllowedMovingRight);
-                    lastUpdateAliens = now;
-                }
-                bulletAlienCollisionHandler();
-
-                /* Le spaceship se délplace de gauche à droite
-                 *
-                 * Elements qui demandent une action de l'utilisateur :
-                 *  - Spaceship
-                 *  - Bullet
-                 *
-                 *
-                 * Elements qui ne demandent pas d'action de l'utilisateur :
-                 *  - Alien
-                 */
-                for (Alien lAlien : mAliens) {
-                    spaceCanvas.clear(lAlien);
-                    spaceCanvas.draw(lAlien);
-                }
-
-                aliensHaveWon();
-                alienWaveIsStillAlive();
+                stop();
+                action.run();
             }
-
-        };
-        animationTimer.start();
-
+        }.start();
     }
 
-    private boolean moveAliens(boolean areAllowedMovingRight) {
-
-        for ( Alien lAlien: mAliens ) {
-            //Check if aliens do not exceed min/max width of canvas
-            if ( lAlien.getRectangle().getMaxX() >= canvas.getWidth() ) {
-                moveDownAliens();
-                aliensHaveNotJustBeenCreated = true;
-                areAllowedMovingRight = false;
-            }
-            else if ( lAlien.getRectangle().getMinX() <= 0 && aliensHaveNotJustBeenCreated ) {
-                moveDownAliens();
-                areAllowedMovingRight = true;
-            }
-            else if ( lAlien.getRectangle().getMinX() < 0 ) {
-                areAllowedMovingRight = true;
-            }
+    public void showMenu() {
+        showScene( MenuView.getInstance().getMenuScene() );
+    }
 
-            //Next frame
-            lAlien.getSprite().nextFrameOffsetX();
+    public void showGame() {
+        showScene( GameView.getInstance().getGameScene() );
+    }
 
-            //Move according to direction (left/right)
-            if ( areAllowedMovingRight ) { lAlien.moveRight(); }
-            else { lAlien.moveLeft(); }
+    public void showOptions() {
+        // initialisation des options
+        if ( optionsController == null ) {
+            optionsController = new OptionsController(this, this.stage);
         }
-
-        return areAllowedMovingRight;
+        showScene( OptionsView.getInstance().getOptionsScene() );
     }
 
-
-
-    private void moveDownAliens() {
-        for ( Alien lAlien: mAliens ) {
-            //Move down all aliens
-            lAlien.moveDown();
+    public void showGameOver() {
+        if ( gameOverController == null ) {
+            gameOverController = new GameOverController(this, this.stage);
         }
-
+        //Keys are not listened after the game
+        stage.setScene( GameOverView.getInstance().getGameOverScene() );
     }
 
-    private void bulletAlienCollisionHandler(){
-
-        for( int indexBullet = 0; indexBullet < mBullets.size(); indexBullet++ ) {
-            Bullet lBullet = mBullets.get(indexBullet);
-
-            //Check collision with alien
-            for( int indexAlien = mAliens.size()-1; indexAlien >= 0; indexAlien-- ) {
-                Alien lAlien = mAliens.get(indexAlien);
-
-                if ( lAlien.intersects(lBullet) ) {
+    private void showScene(Scene scene) {
+        //Add events for scenes, once
+        if ( scene.getOnKeyPressed() == null ) {
+            keyboardEvents( scene );
+        }
+        stage.setScene( scene );
+    }
 
-                    spaceCanvas.clear(lBullet);
-                    spaceCanvas.clear(lAlien);
+    public void loadGame() {
+        //Keep recording of the game left for a new one
+        saveRecording();
+
+        if ( spaceCanvas == null ) {
+            spaceCanvas = SpaceCanvas.getInstance();
+            informationController = new InformationController(
+                    spaceCanvas.getInformationCanvas().getGraphicsContext2D(),
+                    spaceCanvas.getInformationCanvas()
+            );
+            renderController = new RenderController(spaceCanvas.getSurface());
+        }
 
-                    //Remove bullet and alien from List
-                    mBullets.remove(indexBullet);
-                    mAliens.remove(indexAlien);
+        //Clear canvas
+        spaceCanvas.clearAll();
+        renderController.invalidate();
+        informationController.invalidate();
 
-                    //Increment score
-                    player.setScore( player.getScore() + 10 );
+        //Create a new game with current options, soak test games are not recorded
+        this.gameWorld = soakTest != null ? soakTest.newGame() : new GameWorld(aliensPerRow, aliensPerColumn, alienXSpeed, gameMode);
+        this.gameWorld.setFrameMetrics(frameMetrics);
+        this.gameInput.clear();
+        this.inputBuffer.clear();
+        this.recording = soakTest != null ? null : new Recording(aliensPerRow, aliensPerColumn, alienXSpeed, gameMode);
 
-                    break;
-                }
-            }
+        //Write information
+        this.informationController.writeInformation(gameWorld.getPlayer(), gameWorld.getAlienFormation().getAliveCount());
 
-            //Check if the bullet exceed canvas
-            if ( lBullet.getY() < 0 ) {
-                player.setScore( player.getScore() - 20 );
-            }
-        }
-    }
+        //Create a animation timer
+        this.animationTimer = new AnimationTimer() {
+            private final GameClock clock = new GameClock();
 
-    private void moveBullets() {
-        for( int indexBullet = 0; indexBullet < mBullets.size(); indexBullet++ ) {
-            Bullet bullet = mBullets.get(indexBullet);
-            if( bullet.getRectangle().getMaxY() > 0 ) {
-                bullet.getSprite().nextFrameOffsetY();
-                bullet.moveUp();
-            } else {
-                //Clear bullet
-                spaceCanvas.clear(bullet);
-                //Remove bullet of List
-                mBullets.remove(indexBullet);
-                break;
+            @Override
+            public void start() {
+                //Do not simulate the time spent in pause
+                clock.reset();
+                super.start();
             }
-        }
-    }
-
 
-    private void aliensHaveWon() {
-        for(Alien lAlien: mAliens){
-            if ( lAlien.intersects(spaceship) ) {
-                //Remove 1 live of player
-                player.setLives( player.getLives() - 1 );
+            @Override
+            public void handle(long now) {
+                frameMetrics.beginFrame();
+                long frameStart = System.nanoTime();
+
+                //Simulate fixed steps for the time elapsed since last frame
+                int steps = clock.advance(now);
+                for (int i = 0; i < steps && !gameWorld.isGameOver(); i++) {
+                    //Input of the step, recorded with its tick to replay it
+                    if ( autopilot != null ) {
+                        autopilot.play(gameWorld, gameInput);
+                    } else {
+                        inputBuffer.poll(gameInput);
+                    }
+                    if ( recording != null ) {
+                        recording.record(gameWorld.getTick(), gameInput);
+                    }
+                    gameWorld.step(gameInput);
+                    gameInput.clear();
+                    frameMetrics.countStep();
+                }
 
-                if (player.getLives() == 0) {
-                    stage.setScene( gameOverView.getGameOverScene() );
-                    animationTimer.stop();
-                } else {
+                //Render between the two last steps
+                render(clock.getAlpha());
 
-                    for (Alien lAlien2: mAliens) {
-                        //Clear and reset aliens
-                        spaceCanvas.clear(lAlien2);
-                        mAliens = new ArrayList<>();
-                        //Draw spaceship
-                        spaceCanvas.draw(spaceship);
+                //Latency of the oldest key press shown by this frame
+                long pressTime = inputBuffer.takePendingPressTime();
+                if ( pressTime != 0 ) {
+                    frameMetrics.record(FrameMetrics.Phase.INPUT, pressTime);
+                }
+                frameMetrics.endFrame(frameStart, gameWorld.getAlienFormation().getAliveCount(), gameWorld.getPlayerBullets().getSize() + gameWorld.getEnemyBullets().getSize());
+
+                //Soak test plays games one after the other until its duration is over
+                if ( soakTest != null ) {
+                    soakTest.frame(gameWorld);
+                    if ( gameWorld.isGameOver() || soakTest.isOver() ) {
+                        stop();
+                        soakTest.gameOver(gameWorld);
+                        if ( soakTest.isOver() ) { finishSoakTest(); }
+                        else { loadGame(); }
                     }
-                    createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
                 }
-
-                break;
+                else if ( gameWorld.isGameOver() ) {
+                    saveRecording();
+                    int rank = saveHighScore();
+                    showGameOver();
+                    gameOverController.showLeaderboard(highScores, rank);
+                    stop();
+                }
             }
-        }
+
+        };
+        animationTimer.start();
+
     }
 
-    private void alienWaveIsStillAlive() {
+    private void render(double alpha) {
+        long time = System.nanoTime();
 
-        if (mAliens.isEmpty()) {
-            aliensPerColumn += 1;
-            alienXSpeed += 2;
-            createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
-        }
+        //Redraw only what changed since last frame
+        renderController.render(gameWorld, alpha);
+        time = frameMetrics.record(FrameMetrics.Phase.REDRAW, time);
 
+        //Write information
+        informationController.writeInformation(gameWorld.getPlayer(), gameWorld.getAlienFormation().getAliveCount());
+        informationController.writeMetrics(frameMetrics, isShownMetrics);
+        frameMetrics.record(FrameMetrics.Phase.HUD, time);
     }
 
     public void updateParametersGame() {
 
         /* Get all options and apply to game */
-        //Get wallpaper
-        ImageView imageViewWallpaper = optionsView.getImageViewWallpaper();
-        imageViewWallpaper.setFitWidth( gameView.getCanvas().getWidth() );
-        imageViewWallpaper.setFitHeight( gameView.getCanvas().getHeight() );
+        //Get wallpaper, already scaled to the canvas when it was selected
+        Image wallpaper = WallpaperCache.getBackground( OptionsView.getInstance().getIndexWallpaper() );
 
         //Add background image to game scene
         BackgroundImage backgroundImage = new BackgroundImage(
-                new Image(
-                        imageViewWallpaper.getImage().getUrl(),
-                        gameView.getCanvas().getWidth(),
-                        gameView.getCanvas().getHeight(),
-                        false,
-                        true
-                ),
+                wallpaper,
                 BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.CENTER,
                 BackgroundSize.DEFAULT);
 
         //Set background image to pane
-        gameView.getGameLayer().setBackground( new Background(backgroundImage) );
+        GameView.getInstance().getGameLayer().setBackground( new Background(backgroundImage) );
     }
 
     private void keyboardEvents(Scene theStage){
 
+        //Keys are only captured here, the simulation polls them once per step
         theStage.setOnKeyPressed(e -> {
-            switch (e.getCode()){
-                case LEFT:
-                    if( spaceship != null && spaceship.getRectangle().getMinX() >= 0  ) {
-                        spaceship.getSprite().nextFrameOffsetX();
-                        spaceship.moveLeft();
-                    }
-                    break;
-                case RIGHT:
-                    if( spaceship != null && spaceship.getRectangle().getMaxX() <= canvas.getWidth()) {
-                        spaceship.getSprite().nextFrameOffsetX();
-                        spaceship.moveRight();
-                    }
-                    break;
-                case SPACE:
-                    if ( spaceship != null ) {
-                        createBullet();
-                    }
-                    break;
-                case ESCAPE:
+            GameKey key = toGameKey(e.getCode());
+            if ( key != null ) {
+                //Pause acts at once, the game does not step while paused. Repeats of a held key do not toggle it again
+                if ( key == GameKey.PAUSE && !inputBuffer.isDown(key) ) {
                     pause();
+                }
+                inputBuffer.press(key, System.nanoTime());
+            }
+
+            switch (e.getCode()){
+                case F3:
+                    //Show or hide metrics overlay
+                    isShownMetrics = !isShownMetrics;
                     break;
             }
         });
+        theStage.setOnKeyReleased(e -> {
+            GameKey key = toGameKey(e.getCode());
+            if ( key != null ) {
+                inputBuffer.release(key, System.nanoTime());
+            }
+        });
     }
 
-    private void createSpaceship() {
-        spaceship = Spaceship.spaceship1((int) canvas.getWidth() / 2, (int) canvas.getHeight() - 20, 10);
-        //Get 1st frame of spaceship
-        spaceship.getSprite().setWidth( spaceship.getSprite().getWidth() / 2 );
-        //Modify x, y positions on canvas of spaceship with its width and height
-        spaceship.setWidth( spaceship.getWidth() * 2 );
-        spaceship.setHeight( spaceship.getHeight() * 2 );
-        spaceship.setX( spaceship.getX() - spaceship.getWidth() / 2 );
-        spaceship.setY( spaceship.getY() - spaceship.getHeight());
-
-        //Draw spaceship
-        spaceCanvas.draw(spaceship);
+    private static GameKey toGameKey(KeyCode keyCode) {
+        switch (keyCode) {
+            case LEFT: return GameKey.LEFT;
+            case RIGHT: return GameKey.RIGHT;
+            case SPACE: return GameKey.FIRE;
+            case ESCAPE: return GameKey.PAUSE;
+            default: return null;
+        }
     }
 
-    private void createAliens(int aliensPerRow, int aliensPerColumn, int alienXSpeed) {
-        //Init x, y positions on canvas
-        int originX = 0;
-        int x = originX;
-        int y = 25;
-
-        this.aliensHaveNotJustBeenCreated = false;
-
-        int alienHeight = 0;
-
-        for( int iColumn = 0; iColumn <= aliensPerColumn; iColumn++ ) {
-            for( int iRow = 0; iRow <= aliensPerRow; iRow++ ) {
-                //Create new Alien
-                Alien alien = Alien.alien1(x, y, alienXSpeed);
-
-                //Define frame of size of alien
-                alien.getSprite().setWidth( alien.getSprite().getWidth() / alien.getSprite().getNbFrames() );
-                alien.setWidth( alien.getWidth() );
-                alien.setHeight( alien.getHeight() );
-
-
-                //Increment x position with alien width
-                x += alien.getWidth() + 10;
-                if( alienHeight < alien.getHeight() ) {
-                    alienHeight = alien.getHeight();
-                }
-                //Add alien to List
-                mAliens.add(alien);
-            }
-            //Increment y position with alien height and reset x position
-            x = originX;
-            y += alienHeight + 10;
+    private void saveRecording() {
+        if ( recording == null ) {
+            return;
         }
 
-        //Draw aliens
-        for (Alien lAlien: mAliens) {
-            spaceCanvas.draw(lAlien);
+        recording.finish(gameWorld);
+        Path file = Paths.get(RECORDINGS_DIRECTORY, "game-" + System.currentTimeMillis() + ".sirec");
+        try {
+            Files.createDirectories(file.getParent());
+            recording.write(file);
+        } catch (IOException e) {
+            System.err.println("Cannot save recording " + file + ": " + e);
         }
-
+        recording = null;
     }
 
-    private void createBullet() {
-        //Create Bullet
-        Bullet bullet = Bullet.bullet1(
-                spaceship.getX() + spaceship.getWidth() / 2,
-                spaceship.getY() - spaceship.getHeight(),
-                1
-        );
-        //Define frame of size of bullet
-        bullet.getSprite().setHeight( bullet.getSprite().getHeight() / bullet.getSprite().getNbFrames() );
-        bullet.setWidth( (int) (bullet.getWidth() * 0.7) );
-        bullet.setHeight( (int) (bullet.getHeight() * 0.7) );
-        //Set width of height of bullet
-        bullet.setX( bullet.getX() - bullet.getWidth() / 2 );
-        bullet.setY( bullet.getY() + bullet.getHeight() / 2 );
-
-        //Add bullet to List
-        mBullets.add(bullet);
-
-        //Draw bullet
-        spaceCanvas.draw(bullet);
+    /* Add the score of the game to the high scores and return its rank in the best ones, -1 if not in them */
+    private int saveHighScore() {
+        try {
+            if ( highScores == null ) {
+                highScores = HighScores.open(Paths.get(HIGH_SCORES_FILE));
+            }
+            Player player = gameWorld.getPlayer();
+            return highScores.add(player.getName(), player.getScore(), gameWorld.getWave(), System.currentTimeMillis());
+        } catch (IOException e) {
+            System.err.println("Cannot save high score in " + HIGH_SCORES_FILE + ": " + e);
+            return -1;
+        }
     }
 
-
+    @Override
+    public void stop() {
+        //Scores not written back yet are kept by the journal anyway
+        if ( highScores != null ) {
+            try {
+                highScores.close();
+            } catch (IOException e) {
+                System.err.println("Cannot close " + HIGH_SCORES_FILE + ": " + e);
+            }
+        }
+    }
 
     private void pause() {
         //Check game is launching
         if ( animationTimer != null ) {
+            //Pause and resume are recorded with the tick of the next step, replays ignore them
+            if ( recording != null ) {
+                recording.record(gameWorld.getTick(), GameKey.PAUSE);
+            }
+
+            //Keys held or pressed in the menu do not reach the game
+            inputBuffer.clear();
 
             //If menu scene is not shown
             if ( !isShownMenuScene) {
                 //Show menu scene
-                stage.setScene( menuView.getMenuScene() );
+                showMenu();
                 //Stop animationTimer
                 animationTimer.stop();
                 isShownMenuScene = true;
@@ -441,7 +412,7 @@ public class Main extends Application {
                 isShownMenuScene = false;
 
                 //Show game scene
-                stage.setScene( gameView.getGameScene() );
+                showGame();
             }
         }
     }
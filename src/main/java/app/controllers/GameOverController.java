@@ -0,0 +1,46 @@
+package app.controllers;
+
+import app.Main;
+import app.models.HighScores;
+import app.views.GameOverView;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+import java.util.Locale;
+
+public class GameOverController extends Controller {
+
+    public GameOverController(Main main, Stage stage) {
+
+        GameOverView gameOverView = GameOverView.getInstance();
+
+        gameOverView.getExitGame().setOnAction(actionEvent -> System.exit(0));
+        gameOverView.getRestartButton().setOnAction(actionEvent -> {
+
+            main.loadGame();
+            main.showGame();
+
+        });
+    }
+
+    /* Write best scores on the game over scene, the score of the last game is highlighted at its rank (-1 if none) */
+    public void showLeaderboard(HighScores highScores, int lastRank) {
+        Label[] lines = GameOverView.getInstance().getLeaderboardLines();
+
+        for ( int rank = 0; rank < lines.length; rank++ ) {
+            Label line = lines[rank];
+            if ( highScores == null || rank >= highScores.getTopCount() ) {
+                line.setText("");
+                continue;
+            }
+
+            long index = highScores.getTopIndex(rank);
+            line.setText(String.format(Locale.ROOT, "%2d %-10s %7d", rank + 1, highScores.getName(index), highScores.getScore(index)));
+            if ( rank == lastRank ) {
+                if ( !line.getStyleClass().contains("last-score") ) { line.getStyleClass().add("last-score"); }
+            } else {
+                line.getStyleClass().remove("last-score");
+            }
+        }
+    }
+}
@@ -1,48 +1,126 @@
 package app.controllers;
 
+import app.engine.FrameMetrics;
+import app.engine.LatencyHistogram;
 import app.models.Player;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 public class InformationController {
 
+    private static final Font FONT = new Font("Press Start 2P", 10);
+    //Texts kept rasterised, cleared when too many different values were seen
+    private static final int MAX_CACHED_TEXTS = 128;
+    //Width of the number of aliens, at the right of the score
+    private static final int ALIENS_NUMBER_WIDTH = 150;
+    //Metrics overlay is refreshed 4 times per second
+    private static final long METRICS_REFRESH_NANOS = 250_000_000L;
+
     private GraphicsContext graphicsContext;
     private Canvas canvas;
 
+    private final Map<String, TextImage> textImages = new HashMap<>();
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+
+    //Values shown on the canvas, -1 when nothing is drawn yet
+    private int shownScore = -1;
+    private int shownLives = -1;
+    private int shownAliensNumber = -1;
+
+    private boolean isShownMetrics = false;
+    private long lastMetricsWrite = 0;
+
     public InformationController(GraphicsContext graphicsContext, Canvas canvas) {
         this.graphicsContext = graphicsContext;
         this.canvas = canvas;
+        this.snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+
+    /* Redraw only the information which changed since last call */
+    public void writeInformation(Player player, int aliensNumber) {
+        if ( player.getScore() != shownScore ) {
+            writeScore(player);
+            shownScore = player.getScore();
+        }
+        if ( player.getLives() != shownLives ) {
+            writeLivesCredits(player);
+            shownLives = player.getLives();
+        }
+        if ( aliensNumber != shownAliensNumber ) {
+            writeAliensNumber(aliensNumber);
+            shownAliensNumber = aliensNumber;
+        }
     }
 
-    public void writeInformation(Player player, List aliens) {
-        writeScore(player);
-        writeLivesCredits(player);
-        writeAliensNumber(aliens);
-        graphicsContext.setFont(new Font("Press Start 2P", 10));
+    /* Overlay with frame times and entity counts, under the score */
+    public void writeMetrics(FrameMetrics frameMetrics, boolean show) {
+        int x = 20;
+        int y = 45;
+        long now = System.nanoTime();
+
+        if ( !show ) {
+            if ( isShownMetrics ) {
+                graphicsContext.clearRect(0, y - 12, canvas.getWidth() / 2, 96);
+                isShownMetrics = false;
+            }
+            return;
+        }
+        if ( isShownMetrics && now - lastMetricsWrite < METRICS_REFRESH_NANOS ) {
+            return;
+        }
 
+        LatencyHistogram frame = frameMetrics.getHistogram(FrameMetrics.Phase.FRAME);
+        LatencyHistogram redraw = frameMetrics.getHistogram(FrameMetrics.Phase.REDRAW);
+        LatencyHistogram input = frameMetrics.getHistogram(FrameMetrics.Phase.INPUT);
+        String[] lines = {
+                String.format(Locale.ROOT, "FPS %.1f", frameMetrics.getFps()),
+                String.format(Locale.ROOT, "FRAME P50 %.2f P99 %.2f MAX %.2f MS",
+                        frame.getValueAtPercentile(50) / 1e6, frame.getValueAtPercentile(99) / 1e6, frame.getMax() / 1e6),
+                String.format(Locale.ROOT, "REDRAW P99 %.2f MS", redraw.getValueAtPercentile(99) / 1e6),
+                String.format(Locale.ROOT, "INPUT P50 %.2f P99 %.2f MS", input.getValueAtPercentile(50) / 1e6, input.getValueAtPercentile(99) / 1e6),
+                "ALIENS " + frameMetrics.getAliensCount() + " BULLETS " + frameMetrics.getBulletsCount()
+        };
+
+        //Clear
+        graphicsContext.clearRect(0, y - 12, canvas.getWidth() / 2, 96);
+
+        //Draw
+        graphicsContext.setFont(FONT);
+        graphicsContext.setFill(Color.WHITE);
+        for ( String line : lines ) {
+            graphicsContext.fillText(line, x, y);
+            y += 16;
+        }
+
+        isShownMetrics = true;
+        lastMetricsWrite = now;
+    }
+
+    /* Draw all information again at next call */
+    public void invalidate() {
+        shownScore = -1;
+        shownLives = -1;
+        shownAliensNumber = -1;
     }
 
     private void writeScore(Player player) {
         int x = 20;
         int y = 20;
 
-        //Clear
-        graphicsContext.clearRect(0, 0, canvas.getWidth(), 30);
+        //Clear, up to the number of aliens drawn at the right of the same line
+        graphicsContext.clearRect(0, 0, canvas.getWidth() - ALIENS_NUMBER_WIDTH, 30);
 
-        if(player.getScore() < 0) {
-            player.setScore(0);
-        }
         //Draw
-        graphicsContext.setFill(Color.WHITE);
-        graphicsContext.fillText(
-                "SCORE " + player.getScore(),
-                x,
-                y,
-                100);
+        drawText("SCORE " + player.getScore(), x, y, 100);
     }
 
     private void writeLivesCredits(Player player) {
@@ -50,14 +128,10 @@ public class InformationController {
         int y = (int) (canvas.getHeight() - 10);
 
         //Clear
-        graphicsContext.clearRect(0, y - 10, canvas.getWidth(), 30);
+        graphicsContext.clearRect(0, y - 20, canvas.getWidth(), 30);
 
         //Draw
-        graphicsContext.setFill(Color.WHITE);
-        graphicsContext.fillText(
-                getTextLives( player ),
-                x,
-                y);
+        drawText(getTextLives( player ), x, y, canvas.getWidth());
     }
 
     private String getTextLives(Player player) {
@@ -69,29 +143,63 @@ public class InformationController {
         return lTextLives;
     }
 
-    private void writeAliensNumber(List aliens) {
+    private void writeAliensNumber(int aliensNumber) {
 
         String lTextAliensNumber;
-        int lAliensNumber = aliens.size();
+        int lAliensNumber = aliensNumber;
         if(lAliensNumber == 1) {
             lTextAliensNumber = lAliensNumber + " ALIEN LEFT";
         } else {
             lTextAliensNumber = lAliensNumber + " ALIENS LEFT";
         }
 
-        int x = (int) canvas.getWidth() - 150;
+        int x = (int) canvas.getWidth() - ALIENS_NUMBER_WIDTH;
         int y = 20;
 
         //Clear
-        graphicsContext.clearRect(x, y, canvas.getWidth(), 30);
+        graphicsContext.clearRect(x, 0, canvas.getWidth(), 30);
 
         //Draw
-        graphicsContext.setFill(Color.WHITE);
-        graphicsContext.fillText(
-                lTextAliensNumber,
+        drawText(lTextAliensNumber, x, y, canvas.getWidth());
+    }
+
+    //Draw text with its baseline at y, narrowed to maxWidth like fillText. Package private, tests draw texts without fonts
+    void drawText(String text, double x, double y, double maxWidth) {
+        TextImage textImage = getTextImage(text);
+        Image image = textImage.image;
+        graphicsContext.drawImage(
+                image,
                 x,
-                y);
+                y - textImage.baseline,
+                Math.min(image.getWidth(), maxWidth),
+                image.getHeight()
+        );
+    }
 
+    private TextImage getTextImage(String text) {
+        TextImage textImage = textImages.get(text);
+        if ( textImage == null ) {
+            if ( textImages.size() >= MAX_CACHED_TEXTS ) {
+                textImages.clear();
+            }
+
+            //Rasterise text once
+            Text node = new Text(text);
+            node.setFont(FONT);
+            node.setFill(Color.WHITE);
+            textImage = new TextImage(node.snapshot(snapshotParameters, null), node.getBaselineOffset());
+            textImages.put(text, textImage);
+        }
+        return textImage;
+    }
 
+    private static class TextImage {
+        private final Image image;
+        private final double baseline;
+
+        private TextImage(Image image, double baseline) {
+            this.image = image;
+            this.baseline = baseline;
+        }
     }
 }
@@ -26,27 +26,17 @@ public class MenuController extends Controller {
                     isShownMenuScene = false;
                 }
 
-                stage.setScene( gameView.getGameScene() );
+                main.showGame();
 
             });
 
             //Options
             menuView.getOptionsButton().setOnAction( actionEvent -> {
                 //Show options scene
-                stage.setScene( optionsView.getOptionsScene() );
+                main.showOptions();
             });
 
             //Exit
             menuView.getExitGame().setOnAction( actionEvent -> System.exit(0) );
-
-            gameOverView.getExitGame().setOnAction(actionEvent -> System.exit(0));
-            gameOverView.getRestartButton().setOnAction(actionEvent -> {
-
-
-                main.loadGame();
-                stage.setScene( gameView.getGameScene() );
-
-            });
         }
     }
-
@@ -1,20 +1,23 @@
 package app.controllers;
 
 import app.Main;
+import app.engine.Difficulty;
+import app.engine.GameMode;
+import app.models.WallpaperCache;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
+import app.views.MenuView;
 import app.views.OptionsView;
 
 import java.util.List;
 
 public class OptionsController extends Controller{
 
+    private OptionsView optionsView = OptionsView.getInstance();
 
 
     public OptionsController(Main main, Stage stage) {
 
-        OptionsView optionsView = OptionsView.getInstance();
-
         //Left Wallpaper
         optionsView.getLeftWallpaperButton().setOnAction(actionEvent -> {
             int indexWallpaper = optionsView.getIndexWallpaper();
@@ -44,47 +47,48 @@ public class OptionsController extends Controller{
         });
 
         //Levels
-        optionsView.getEasyButton().setOnAction(keyEvent -> {
-            Main.aliensPerRow = 8;
-            Main.aliensPerColumn = 3;
-            Main.alienXSpeed = 10;
-        } );
-        optionsView.getMediumButton().setOnAction(keyEvent -> {
-            Main.aliensPerRow = 10;
-            Main.aliensPerColumn = 4;
-            Main.alienXSpeed = 15;
-        } );
-        optionsView.getHardButton().setOnAction(keyEvent -> {
-            Main.aliensPerRow = 10;
-            Main.aliensPerColumn = 4;
-            Main.alienXSpeed = 20;
-        } );
+        optionsView.getEasyButton().setOnAction(keyEvent -> setDifficulty(Difficulty.EASY) );
+        optionsView.getMediumButton().setOnAction(keyEvent -> setDifficulty(Difficulty.MEDIUM) );
+        optionsView.getHardButton().setOnAction(keyEvent -> setDifficulty(Difficulty.HARD) );
+
+        //Modes
+        optionsView.getClassicButton().setOnAction(keyEvent -> Main.gameMode = GameMode.CLASSIC );
+        optionsView.getBulletHellButton().setOnAction(keyEvent -> Main.gameMode = GameMode.BULLET_HELL );
 
         //Cancel
         optionsView.getCancelButton().setOnAction(actionEvent -> {
             //Show menu scene
-            stage.setScene(menuView.getMenuScene());
+            main.showMenu();
         });
 
         //Validate
         optionsView.getValidateButton().setOnAction(actionEvent -> {
+            MenuView menuView = MenuView.getInstance();
             menuView.getVBox().getChildren().remove(menuView.getOptionsButton());
             menuView.getNewGameButton().setText("Play");
 
             main.updateParametersGame();
             //Load game and show game scene
             main.loadGame();
-            stage.setScene(gameView.getGameScene());
+            main.showGame();
 
         });
     }
 
+    private void setDifficulty(Difficulty difficulty) {
+        Main.aliensPerRow = difficulty.getAliensPerRow();
+        Main.aliensPerColumn = difficulty.getAliensPerColumn();
+        Main.alienXSpeed = difficulty.getAlienXSpeed();
+    }
+
     private void changeImageViewWallpaper(int indexWallpaper) {
         //Increment index of wallpaper
         optionsView.setIndexWallpaper( indexWallpaper );
         //Change wallpaper
         ImageView imageView = optionsView.getImageViewsWallpapers().get( optionsView.getIndexWallpaper() );
         optionsView.getImageViewWallpaper().setImage( imageView.getImage() );
+        //Start decoding background of game, ready when options are validated
+        WallpaperCache.getBackground( indexWallpaper );
     }
 
 }
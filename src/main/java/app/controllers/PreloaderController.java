@@ -0,0 +1,118 @@
+package app.controllers;
+
+import app.models.SpriteSheet;
+import app.models.WallpaperCache;
+import app.views.MenuView;
+import app.views.PreloaderView;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/* Load images and stylesheet concurrently before showing the menu */
+public class PreloaderController {
+    public static final String ICON = "images/icon.png";
+    public static final String STYLESHEET = "/css/app.css";
+
+    private static final int MAX_THREADS = 4;
+
+    private final PreloaderView preloaderView = PreloaderView.getInstance();
+    private final Runnable onLoaded;
+
+    //Only updated on the JavaFX thread
+    private int tasksCount;
+    private int doneCount;
+
+    public PreloaderController(Runnable onLoaded) {
+        this.onLoaded = onLoaded;
+    }
+
+    public void start() {
+        //Images decoded and files read on worker threads
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(() -> SpriteSheet.get(SpriteSheet.INVADERS));
+        tasks.add(() -> SpriteSheet.get(MenuView.LOGO));
+        tasks.add(() -> SpriteSheet.get(ICON));
+        tasks.add(PreloaderController::readStylesheet);
+
+        //Wallpapers are already decoded in background by JavaFX
+        List<Image> wallpapers = new ArrayList<>();
+        for ( String path : WallpaperCache.PATHS ) {
+            wallpapers.add(WallpaperCache.get(path, 200, 200));
+        }
+        wallpapers.add(WallpaperCache.getBackground(0));
+
+        tasksCount = tasks.size() + wallpapers.size();
+
+        int nbThreads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads, runnable -> {
+            Thread thread = new Thread(runnable, "preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for ( Runnable task : tasks ) {
+            executor.execute(() -> {
+                //A missing asset is loaded again when used, do not block startup
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Cannot preload asset: " + e);
+                }
+                Platform.runLater(this::taskDone);
+            });
+        }
+        executor.shutdown();
+
+        for ( Image wallpaper : wallpapers ) {
+            whenLoaded(wallpaper);
+        }
+    }
+
+    private void whenLoaded(Image image) {
+        if ( image.getProgress() >= 1 || image.isError() ) {
+            taskDone();
+            return;
+        }
+
+        //Counted once, an image in error may never reach full progress
+        InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if ( image.getProgress() >= 1 || image.isError() ) {
+                    image.progressProperty().removeListener(this);
+                    image.errorProperty().removeListener(this);
+                    taskDone();
+                }
+            }
+        };
+        image.progressProperty().addListener(listener);
+        image.errorProperty().addListener(listener);
+    }
+
+    private void taskDone() {
+        doneCount++;
+        preloaderView.getProgressBar().setProgress( (double) doneCount / tasksCount );
+
+        if ( doneCount == tasksCount ) {
+            onLoaded.run();
+        }
+    }
+
+    private static void readStylesheet() {
+        //Bring the stylesheet in memory, parsed by the first scene using it
+        try (InputStream inputStream = PreloaderController.class.getResourceAsStream(STYLESHEET)) {
+            if ( inputStream != null ) {
+                inputStream.readAllBytes();
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot read stylesheet " + STYLESHEET + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package app.controllers;
+
+import app.engine.GameWorld;
+import app.engine.ecs.RenderSystem;
+import app.models.*;
+import lombok.Getter;
+
+@Getter
+public class RenderController {
+
+    //Canvas or framebuffer, chosen at startup
+    private RenderSurface surface;
+
+    //Areas of the canvas to clear and redraw this frame
+    private DirtyRegions dirtyRegions;
+    private boolean fullRedraw = true;
+
+    //What was drawn on the canvas at last frame
+    private AlienFormation lastAlienFormation;
+    private boolean[] aliensDrawn = new boolean[0];
+    private int[] aliensRects = new int[0];
+
+    //Entities of the archetypes of the world, spaceship included
+    private final RenderSystem renderSystem = new RenderSystem();
+
+    //Commands sent to the surface during the last frame
+    private int clearsCount;
+    private int drawsCount;
+
+    public RenderController(RenderSurface surface) {
+        this.surface = surface;
+        this.dirtyRegions = new DirtyRegions(surface.getWidth(), surface.getHeight());
+    }
+
+    /* Redraw the whole canvas at next frame */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    public void render(GameWorld gameWorld, double alpha) {
+        dirtyRegions.clear();
+        if ( fullRedraw ) {
+            dirtyRegions.addAll();
+            fullRedraw = false;
+        }
+
+        //Collect regions changed since the last frame
+        //Frames of all entities are derived from the ticks of the world
+        long clock = gameWorld.getTick();
+        damageAliens(gameWorld.getAlienFormation(), alpha, clock);
+        renderSystem.damage(gameWorld.getArchetypes(), alpha, clock, dirtyRegions);
+        dirtyRegions.merge();
+
+        clearsCount = 0;
+        drawsCount = 0;
+        if ( dirtyRegions.isEmpty() ) {
+            return;
+        }
+
+        //Only draw inside changed regions, so untouched pixels are never drawn twice
+        surface.begin(dirtyRegions);
+
+        for ( int i = 0; i < dirtyRegions.size(); i++ ) {
+            surface.clear(dirtyRegions.getX(i), dirtyRegions.getY(i), dirtyRegions.getWidth(i), dirtyRegions.getHeight(i));
+            clearsCount++;
+        }
+
+        //Spaceship is the last archetype, drawn over bullets
+        drawAliens(gameWorld.getAlienFormation());
+        drawsCount += renderSystem.draw(gameWorld.getArchetypes(), dirtyRegions, surface);
+
+        surface.end();
+    }
+
+    private void damageAliens(AlienFormation alienFormation, double alpha, long clock) {
+        //New wave, the whole previous wave is gone
+        if ( alienFormation != lastAlienFormation ) {
+            for ( int slot = 0; slot < aliensDrawn.length; slot++ ) {
+                if ( aliensDrawn[slot] ) {
+                    dirtyRegions.add(aliensRects[6 * slot], aliensRects[6 * slot + 1], aliensRects[6 * slot + 2], aliensRects[6 * slot + 3]);
+                }
+            }
+            int capacity = alienFormation.getCapacity();
+            aliensDrawn = new boolean[capacity];
+            aliensRects = new int[6 * capacity];
+            lastAlienFormation = alienFormation;
+        }
+
+        //Aliens killed since last frame
+        for ( int slot = 0; slot < aliensDrawn.length; slot++ ) {
+            if ( aliensDrawn[slot] && !alienFormation.isAlive(slot) ) {
+                dirtyRegions.add(aliensRects[6 * slot], aliensRects[6 * slot + 1], aliensRects[6 * slot + 2], aliensRects[6 * slot + 3]);
+                aliensDrawn[slot] = false;
+            }
+        }
+
+        //Aliens moved or animated since last frame
+        FrameTable frames = alienFormation.getSprite().getFrames();
+        int frame = alienFormation.getFrame(clock);
+        int dx = frames.getDx(frame);
+        int dy = frames.getDy(frame);
+        for ( int i = 0; i < alienFormation.getAliveCount(); i++ ) {
+            int slot = alienFormation.getAliveSlot(i);
+            int offset = 6 * slot;
+            int x = (int) Math.round(alienFormation.getRenderX(slot, alpha));
+            int y = (int) Math.round(alienFormation.getRenderY(slot, alpha));
+
+            if ( aliensDrawn[slot] && aliensRects[offset] == x && aliensRects[offset + 1] == y && aliensRects[offset + 4] == dx ) {
+                continue;
+            }
+
+            if ( aliensDrawn[slot] ) {
+                dirtyRegions.add(aliensRects[offset], aliensRects[offset + 1], aliensRects[offset + 2], aliensRects[offset + 3]);
+            }
+            setRect(aliensRects, offset, x, y, alienFormation.getWidth(), alienFormation.getHeight(), dx, dy);
+            dirtyRegions.add(x, y, alienFormation.getWidth(), alienFormation.getHeight());
+            aliensDrawn[slot] = true;
+        }
+    }
+
+    private void drawAliens(AlienFormation alienFormation) {
+        Sprite sprite = alienFormation.getSprite();
+
+        for ( int i = 0; i < alienFormation.getAliveCount(); i++ ) {
+            int offset = 6 * alienFormation.getAliveSlot(i);
+            drawIfDamaged(sprite, aliensRects, offset);
+        }
+    }
+
+    private void drawIfDamaged(Sprite sprite, int[] rects, int offset) {
+        if ( dirtyRegions.intersects(rects[offset], rects[offset + 1], rects[offset + 2], rects[offset + 3]) ) {
+            surface.draw(sprite, rects[offset + 4], rects[offset + 5], rects[offset], rects[offset + 1], rects[offset + 2], rects[offset + 3]);
+            drawsCount++;
+        }
+    }
+
+    //Rect stored as x, y, width, height and offset of the frame in the sprite sheet
+    private static void setRect(int[] rects, int offset, int x, int y, int width, int height, int dx, int dy) {
+        rects[offset] = x;
+        rects[offset + 1] = y;
+        rects[offset + 2] = width;
+        rects[offset + 3] = height;
+        rects[offset + 4] = dx;
+        rects[offset + 5] = dy;
+    }
+}
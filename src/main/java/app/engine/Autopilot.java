@@ -0,0 +1,49 @@
+package app.engine;
+
+import app.engine.ecs.Archetype;
+import app.models.AlienFormation;
+
+/* Follows the lowest alien and fires continuously */
+public class Autopilot implements Pilot {
+    private final int fireTicks;
+
+    public Autopilot() {
+        this(8);
+    }
+
+    public Autopilot(int fireTicks) {
+        this.fireTicks = fireTicks;
+    }
+
+    @Override
+    public void play(GameWorld gameWorld, GameInput gameInput) {
+        AlienFormation alienFormation = gameWorld.getAlienFormation();
+        Archetype spaceship = gameWorld.getSpaceship();
+
+        //Closest alien of the lowest alive row
+        int spaceshipCenter = spaceship.getX()[0] + spaceship.getWidth() / 2;
+        int targetSlot = -1;
+        if ( alienFormation.getAliveCount() > 0 ) {
+            int firstSlot = alienFormation.getMaxRow() * alienFormation.getColumns();
+            for ( int slot = firstSlot; slot < firstSlot + alienFormation.getColumns(); slot++ ) {
+                if ( alienFormation.isAlive(slot) && ( targetSlot < 0
+                        || Math.abs(alienFormation.getX(slot) - spaceshipCenter) < Math.abs(alienFormation.getX(targetSlot) - spaceshipCenter) ) ) {
+                    targetSlot = slot;
+                }
+            }
+        }
+
+        if ( targetSlot >= 0 ) {
+            int targetCenter = alienFormation.getX(targetSlot) + alienFormation.getWidth() / 2;
+            if ( targetCenter < spaceshipCenter - GameWorld.SPACESHIP_SPEED / 2 ) {
+                gameInput.pressLeft();
+            } else if ( targetCenter > spaceshipCenter + GameWorld.SPACESHIP_SPEED / 2 ) {
+                gameInput.pressRight();
+            }
+        }
+
+        if ( gameWorld.getTick() % fireTicks == 0 ) {
+            gameInput.pressFire();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package app.engine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/* Play many independent games on all cores for each difficulty of a sweep and write a CSV report.
+ * Usage: BatchSimulator [--rows 8:10] [--columns 3:5] [--speeds 10:20:5] [--games 200]
+ *                       [--pilot auto|random] [--mode classic|bullet_hell] [--max-minutes 30] [--threads N] [--out report.csv] */
+public class BatchSimulator {
+
+    private int[] rows = {8, 10};
+    private int[] columns = {3, 4};
+    private int[] speeds = {10, 15, 20};
+    private int games = 200;
+    private String pilot = "auto";
+    private GameMode mode = GameMode.CLASSIC;
+    private long maxTicks = 30 * 60 * 60;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String out = "report.csv";
+
+    //Result of one game
+    private static class GameResult {
+        private final long ticks;
+        private final int score;
+        private final int waves;
+        private final boolean timeout;
+
+        private GameResult(long ticks, int score, int waves, boolean timeout) {
+            this.ticks = ticks;
+            this.score = score;
+            this.waves = waves;
+            this.timeout = timeout;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        BatchSimulator batchSimulator = new BatchSimulator();
+        try {
+            batchSimulator.parse(args);
+        } catch (IllegalArgumentException e) {
+            //Wrong options, numbers included, are reported without a stack trace
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchSimulator [--rows 8:10] [--columns 3:5] [--speeds 10:20:5] [--games 200]");
+            System.err.println("                      [--pilot auto|random] [--mode classic|bullet_hell] [--max-minutes 30] [--threads N] [--out report.csv]");
+            System.exit(1);
+        }
+        batchSimulator.run();
+    }
+
+    private void parse(String[] args) {
+        for ( int i = 0; i < args.length; i += 2 ) {
+            if ( i + 1 == args.length ) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            try {
+                parse(args[i], value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong number " + value + " for " + args[i]);
+            }
+        }
+    }
+
+    private void parse(String option, String value) {
+        switch (option) {
+            case "--rows": rows = range(value); break;
+            case "--columns": columns = range(value); break;
+            case "--speeds": speeds = range(value); break;
+            case "--games": games = positive(option, value); break;
+            case "--pilot": pilot = pilot(value); break;
+            case "--mode": mode = mode(value); break;
+            case "--max-minutes": maxTicks = (long) positive(option, value) * 60 * 60; break;
+            case "--threads": threads = positive(option, value); break;
+            case "--out": out = value; break;
+            default: throw new IllegalArgumentException("Unknown option " + option);
+        }
+    }
+
+    private static int positive(String option, String value) {
+        int number = Integer.parseInt(value);
+        if ( number < 1 ) {
+            throw new IllegalArgumentException(option + " must be positive, not " + value);
+        }
+        return number;
+    }
+
+    private static String pilot(String value) {
+        if ( !"auto".equals(value) && !"random".equals(value) ) {
+            throw new IllegalArgumentException("Unknown pilot " + value);
+        }
+        return value;
+    }
+
+    private static GameMode mode(String value) {
+        for ( GameMode gameMode : GameMode.values() ) {
+            if ( gameMode.name().equalsIgnoreCase(value) ) {
+                return gameMode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown mode " + value);
+    }
+
+    //Range written as from:to or from:to:step, from up to to with a positive step
+    private static int[] range(String value) {
+        String[] parts = value.split(":");
+        if ( parts.length > 3 ) {
+            throw new IllegalArgumentException("Range " + value + " is not from:to or from:to:step");
+        }
+        int from = Integer.parseInt(parts[0]);
+        int to = parts.length > 1 ? Integer.parseInt(parts[1]) : from;
+        int step = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+        if ( step <= 0 ) {
+            throw new IllegalArgumentException("Step of range " + value + " must be positive");
+        }
+        if ( to < from ) {
+            throw new IllegalArgumentException("Range " + value + " ends before it starts");
+        }
+
+        int[] values = new int[(to - from) / step + 1];
+        for ( int i = 0; i < values.length; i++ ) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    private void run() throws IOException, InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        //One task per game, games share nothing so they scale with cores
+        List<int[]> settings = new ArrayList<>();
+        List<List<Future<GameResult>>> futures = new ArrayList<>();
+        for ( int row : rows ) {
+            for ( int column : columns ) {
+                for ( int speed : speeds ) {
+                    int settingIndex = settings.size();
+                    settings.add(new int[]{row, column, speed});
+
+                    List<Future<GameResult>> settingFutures = new ArrayList<>();
+                    for ( int game = 0; game < games; game++ ) {
+                        long seed = (long) settingIndex * games + game;
+                        settingFutures.add(executor.submit(() -> play(row, column, speed, seed)));
+                    }
+                    futures.add(settingFutures);
+                }
+            }
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8))) {
+            writer.println("aliensPerRow,aliensPerColumn,alienXSpeed,games,timeouts,"
+                    + "survivalMeanS,survivalP50S,survivalP90S,scoreMean,scoreP50,scoreP90,wavesMean");
+
+            long totalTicks = 0;
+            for ( int i = 0; i < settings.size(); i++ ) {
+                List<GameResult> results = new ArrayList<>();
+                for ( Future<GameResult> future : futures.get(i) ) {
+                    results.add(future.get());
+                }
+                totalTicks += results.stream().mapToLong(result -> result.ticks).sum();
+                writer.println(summarize(settings.get(i), results));
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "%d games, %d ticks in %.1f s (%.0f ticks/s) on %d threads, report in %s%n",
+                    settings.size() * games, totalTicks, seconds, totalTicks / seconds, threads, out);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private GameResult play(int aliensPerRow, int aliensPerColumn, int alienXSpeed, long seed) {
+        GameWorld gameWorld = new GameWorld(aliensPerRow, aliensPerColumn, alienXSpeed, mode);
+        GameInput gameInput = new GameInput();
+        Pilot lPilot = "random".equals(pilot) ? new RandomPilot(seed) : new Autopilot();
+
+        while ( !gameWorld.isGameOver() && gameWorld.getTick() < maxTicks ) {
+            lPilot.play(gameWorld, gameInput);
+            gameWorld.step(gameInput);
+            gameInput.clear();
+        }
+
+        return new GameResult(gameWorld.getTick(), gameWorld.getPlayer().getScore(), gameWorld.getWave(), !gameWorld.isGameOver());
+    }
+
+    private static String summarize(int[] setting, List<GameResult> results) {
+        double[] survival = results.stream().mapToDouble(result -> result.ticks / 60.0).sorted().toArray();
+        double[] scores = results.stream().mapToDouble(result -> result.score).sorted().toArray();
+        long timeouts = results.stream().filter(result -> result.timeout).count();
+        double waves = results.stream().mapToInt(result -> result.waves).average().orElse(0);
+
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.0f,%.0f,%.2f",
+                setting[0], setting[1], setting[2], results.size(), timeouts,
+                mean(survival), percentile(survival, 50), percentile(survival, 90),
+                mean(scores), percentile(scores, 50), percentile(scores, 90),
+                waves);
+    }
+
+    private static double mean(double[] sorted) {
+        return Arrays.stream(sorted).average().orElse(0);
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        if ( sorted.length == 0 ) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,60 @@
+package app.engine;
+
+import app.engine.ecs.Archetype;
+
+/* Scripted volleys fired by an alien. Directions are indexes in a table of 256 angles,
+ * 0 pointing right and 64 pointing down, computed once so every game is replayed the same */
+public enum BulletPattern {
+    //Fan of bullets pointing down
+    SPREAD {
+        @Override
+        void fire(Archetype bullets, int x, int y, long tick, int targetX, int targetY) {
+            for ( int i = 0; i < 15; i++ ) {
+                shoot(bullets, x, y, 64 - 42 + i * 6, 2 * PIXEL);
+            }
+        }
+    },
+    //Circle of bullets turning a little at each volley
+    SPIRAL {
+        @Override
+        void fire(Archetype bullets, int x, int y, long tick, int targetX, int targetY) {
+            int rotation = (int) (tick * 3);
+            for ( int i = 0; i < 16; i++ ) {
+                shoot(bullets, x, y, rotation + i * 16, 3 * PIXEL / 2);
+            }
+        }
+    },
+    //Short burst towards the spaceship
+    AIMED {
+        @Override
+        void fire(Archetype bullets, int x, int y, long tick, int targetX, int targetY) {
+            int angle = (int) Math.round(StrictMath.atan2(targetY - y, targetX - x) * ANGLES / (2 * Math.PI));
+            for ( int i = -2; i <= 2; i++ ) {
+                shoot(bullets, x, y, angle + i * 2, 3 * PIXEL);
+            }
+        }
+    };
+
+    private static final int ANGLES = 256;
+    private static final int PIXEL = 1 << Archetype.SUBPIXEL_SHIFT;
+
+    //Cosinus and sinus of each angle, in 1/256 of pixel
+    private static final int[] COS = new int[ANGLES];
+    private static final int[] SIN = new int[ANGLES];
+    static {
+        for ( int i = 0; i < ANGLES; i++ ) {
+            COS[i] = (int) Math.round(StrictMath.cos(2 * Math.PI * i / ANGLES) * PIXEL);
+            SIN[i] = (int) Math.round(StrictMath.sin(2 * Math.PI * i / ANGLES) * PIXEL);
+        }
+    }
+
+    /* Fire a volley from x, y (center of the bullets), towards targetX, targetY if aimed */
+    abstract void fire(Archetype bullets, int x, int y, long tick, int targetX, int targetY);
+
+    //Speed in 1/256 of pixel by step, bullets beyond the capacity are not fired
+    private static void shoot(Archetype bullets, int x, int y, int angle, int speed) {
+        int index = angle & (ANGLES - 1);
+        bullets.create(x - bullets.getWidth() / 2, y - bullets.getHeight() / 2,
+                COS[index] * speed / PIXEL, SIN[index] * speed / PIXEL);
+    }
+}
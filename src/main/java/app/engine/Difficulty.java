@@ -0,0 +1,20 @@
+package app.engine;
+
+import lombok.Getter;
+
+@Getter
+public enum Difficulty {
+    EASY(8, 3, 10),
+    MEDIUM(10, 4, 15),
+    HARD(10, 4, 20);
+
+    private final int aliensPerRow;
+    private final int aliensPerColumn;
+    private final int alienXSpeed;
+
+    Difficulty(int aliensPerRow, int aliensPerColumn, int alienXSpeed) {
+        this.aliensPerRow = aliensPerRow;
+        this.aliensPerColumn = aliensPerColumn;
+        this.alienXSpeed = alienXSpeed;
+    }
+}
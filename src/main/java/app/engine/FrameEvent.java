@@ -0,0 +1,20 @@
+package app.engine;
+
+import jdk.jfr.*;
+
+@Name("app.Frame")
+@Label("Frame")
+@Category("SpaceInvaders")
+@Description("Time spent in each phase of a rendered frame")
+public class FrameEvent extends Event {
+    @Label("Steps") public int steps;
+    @Label("HUD") @Timespan public long hud;
+    @Label("Bullets") @Timespan public long bullets;
+    @Label("Aliens") @Timespan public long aliens;
+    @Label("Collision") @Timespan public long collision;
+    @Label("Redraw") @Timespan public long redraw;
+    @Label("Rules") @Timespan public long rules;
+    @Label("Input latency") @Timespan public long input;
+    @Label("Aliens count") public int aliensCount;
+    @Label("Bullets count") public int bulletsCount;
+}
@@ -0,0 +1,177 @@
+package app.engine;
+
+import jdk.jfr.EventType;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class FrameMetrics {
+
+    //Input is the latency from a key press to the end of the first frame showing it
+    public enum Phase { HUD, BULLETS, ALIENS, COLLISION, REDRAW, RULES, FRAME, INPUT }
+
+    private static final EventType FRAME_EVENT_TYPE = EventType.getEventType(FrameEvent.class);
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    //Time spent in each phase during the current frame
+    private final long[] frameNanos = new long[Phase.values().length];
+    private int frameSteps;
+
+    //Frames per second, measured over the last second
+    private volatile double fps;
+    private long fpsWindowStart = -1;
+    private int fpsWindowFrames;
+
+    private volatile int aliensCount;
+    private volatile int bulletsCount;
+
+    //Milliseconds since start of the JVM to the first frame of the window and of the menu, -1 until shown
+    private volatile long timeToFirstFrame = -1;
+    private volatile long timeToMenu = -1;
+
+    private ScheduledExecutorService dumpExecutor;
+
+    public FrameMetrics() {
+        for ( Phase phase : Phase.values() ) {
+            histograms[phase.ordinal()] = new LatencyHistogram();
+        }
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public void beginFrame() {
+        for ( int i = 0; i < frameNanos.length; i++ ) {
+            frameNanos[i] = 0;
+        }
+        frameSteps = 0;
+    }
+
+    /* Record time elapsed since start in the phase and return current time, start of the next phase */
+    public long record(Phase phase, long start) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - start);
+        frameNanos[phase.ordinal()] += now - start;
+        return now;
+    }
+
+    public void countStep() {
+        frameSteps++;
+    }
+
+    public void endFrame(long frameStart, int aliensCount, int bulletsCount) {
+        long now = record(Phase.FRAME, frameStart);
+        this.aliensCount = aliensCount;
+        this.bulletsCount = bulletsCount;
+
+        //Frames per second
+        if ( fpsWindowStart < 0 ) {
+            fpsWindowStart = now;
+        }
+        fpsWindowFrames++;
+        if ( now - fpsWindowStart >= 1_000_000_000L ) {
+            fps = fpsWindowFrames * 1e9 / (now - fpsWindowStart);
+            fpsWindowStart = now;
+            fpsWindowFrames = 0;
+        }
+
+        //Flight recorder event, only built when recording
+        if ( FRAME_EVENT_TYPE.isEnabled() ) {
+            FrameEvent event = new FrameEvent();
+            event.steps = frameSteps;
+            event.hud = frameNanos[Phase.HUD.ordinal()];
+            event.bullets = frameNanos[Phase.BULLETS.ordinal()];
+            event.aliens = frameNanos[Phase.ALIENS.ordinal()];
+            event.collision = frameNanos[Phase.COLLISION.ordinal()];
+            event.redraw = frameNanos[Phase.REDRAW.ordinal()];
+            event.rules = frameNanos[Phase.RULES.ordinal()];
+            event.input = frameNanos[Phase.INPUT.ordinal()];
+            event.aliensCount = aliensCount;
+            event.bulletsCount = bulletsCount;
+            event.commit();
+        }
+    }
+
+    public void setTimeToFirstFrame(long timeToFirstFrame) {
+        this.timeToFirstFrame = timeToFirstFrame;
+    }
+
+    public void setTimeToMenu(long timeToMenu) {
+        this.timeToMenu = timeToMenu;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("time ").append(Instant.now()).append('\n');
+        report.append(String.format(Locale.ROOT, "fps %.1f aliens %d bullets %d%n", fps, aliensCount, bulletsCount));
+        report.append(String.format(Locale.ROOT, "startup first frame %d ms menu %d ms%n", timeToFirstFrame, timeToMenu));
+        report.append(String.format(Locale.ROOT, "%-10s %10s %10s %10s %10s %10s%n", "phase", "count", "p50 us", "p99 us", "max us", "mean us"));
+
+        for ( Phase phase : Phase.values() ) {
+            LatencyHistogram histogram = getHistogram(phase);
+            report.append(String.format(Locale.ROOT, "%-10s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                    phase.name().toLowerCase(Locale.ROOT),
+                    histogram.getCount(),
+                    histogram.getValueAtPercentile(50) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getMax() / 1e3,
+                    histogram.getMean() / 1e3));
+        }
+        return report.toString();
+    }
+
+    /* Write the report to a file at a fixed period, from a background thread */
+    public void startDump(Path file, long periodSeconds) {
+        stopDump();
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumpExecutor.scheduleAtFixedRate(() -> {
+            //Keep dumping at next period if the file could not be written
+            try {
+                dump(file);
+            } catch (UncheckedIOException e) {
+                System.err.println("Cannot write metrics to " + file + ": " + e.getCause());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stopDump() {
+        if ( dumpExecutor != null ) {
+            dumpExecutor.shutdownNow();
+            dumpExecutor = null;
+        }
+    }
+
+    public void dump(Path file) {
+        try {
+            //Replace the file at once, so a reader never sees half a report
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, report().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void reset() {
+        for ( LatencyHistogram histogram : histograms ) {
+            histogram.reset();
+        }
+    }
+}
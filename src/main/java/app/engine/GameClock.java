@@ -0,0 +1,59 @@
+package app.engine;
+
+import lombok.Getter;
+
+@Getter
+public class GameClock {
+    //Simulation always advances by steps of 1/60 second
+    public static final long STEP_NANOS = 1_000_000_000L / 60;
+    //Steps run at most in one frame, late time is dropped to avoid the spiral of death
+    public static final int MAX_STEPS_PER_FRAME = 5;
+
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+
+    private long lastTime = -1;
+    private long accumulator = 0;
+    private long droppedNanos = 0;
+
+    public GameClock() {
+        this(STEP_NANOS, MAX_STEPS_PER_FRAME);
+    }
+
+    public GameClock(long stepNanos, int maxStepsPerFrame) {
+        this.stepNanos = stepNanos;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /* Add time elapsed since last frame and return number of steps to simulate */
+    public int advance(long now) {
+        if ( lastTime < 0 ) {
+            lastTime = now;
+            return 0;
+        }
+
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerFrame);
+        accumulator -= steps * stepNanos;
+
+        //Too late to catch up, keep only the fraction of a step
+        if ( accumulator >= stepNanos ) {
+            droppedNanos += accumulator - accumulator % stepNanos;
+            accumulator %= stepNanos;
+        }
+
+        return steps;
+    }
+
+    /* Fraction of the next step already elapsed, used to interpolate rendering */
+    public double getAlpha() {
+        return (double) accumulator / stepNanos;
+    }
+
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+}
@@ -0,0 +1,34 @@
+package app.engine;
+
+import lombok.Getter;
+
+@Getter
+public class GameInput {
+    //Key presses received since the last simulation step
+    private int leftPresses;
+    private int rightPresses;
+    private int firePresses;
+
+    public void press(GameKey key) {
+        switch (key) {
+            case LEFT: pressLeft(); break;
+            case RIGHT: pressRight(); break;
+            case FIRE: pressFire(); break;
+            default: break;
+        }
+    }
+
+    public void pressLeft() { leftPresses++; }
+    public void pressRight() { rightPresses++; }
+    public void pressFire() { firePresses++; }
+
+    public boolean isEmpty() {
+        return leftPresses == 0 && rightPresses == 0 && firePresses == 0;
+    }
+
+    public void clear() {
+        leftPresses = 0;
+        rightPresses = 0;
+        firePresses = 0;
+    }
+}
@@ -0,0 +1,5 @@
+package app.engine;
+
+public enum GameKey {
+    LEFT, RIGHT, FIRE, PAUSE
+}
@@ -0,0 +1,8 @@
+package app.engine;
+
+public enum GameMode {
+    //Aliens never fire
+    CLASSIC,
+    //Aliens fire bullet patterns at the spaceship
+    BULLET_HELL
+}
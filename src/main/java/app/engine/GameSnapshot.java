@@ -0,0 +1,51 @@
+package app.engine;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+public class GameSnapshot {
+    private long tick;
+    private int score;
+    private int lives;
+    private int wave;
+    private boolean gameOver;
+
+    private int spaceshipX;
+    private int spaceshipY;
+
+    private int aliensCount;
+    private int[] aliensX = new int[0];
+    private int[] aliensY = new int[0];
+
+    private int bulletsCount;
+    private int[] bulletsX = new int[0];
+    private int[] bulletsY = new int[0];
+
+    void setState(long tick, int score, int lives, int wave, boolean gameOver, int spaceshipX, int spaceshipY) {
+        this.tick = tick;
+        this.score = score;
+        this.lives = lives;
+        this.wave = wave;
+        this.gameOver = gameOver;
+        this.spaceshipX = spaceshipX;
+        this.spaceshipY = spaceshipY;
+    }
+
+    void setAliensCount(int aliensCount) {
+        this.aliensCount = aliensCount;
+        if ( aliensX.length < aliensCount ) {
+            aliensX = Arrays.copyOf(aliensX, aliensCount);
+            aliensY = Arrays.copyOf(aliensY, aliensCount);
+        }
+    }
+
+    void setBulletsCount(int bulletsCount) {
+        this.bulletsCount = bulletsCount;
+        if ( bulletsX.length < bulletsCount ) {
+            bulletsX = Arrays.copyOf(bulletsX, bulletsCount);
+            bulletsY = Arrays.copyOf(bulletsY, bulletsCount);
+        }
+    }
+}
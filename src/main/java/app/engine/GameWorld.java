@@ -0,0 +1,364 @@
+package app.engine;
+
+import app.engine.ecs.*;
+import app.models.*;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+public class GameWorld {
+    public static final int WIDTH = 600;
+    public static final int HEIGHT = 650;
+
+    //Slots of aliens of the current wave, indexed in a grid for collisions
+    private static final int GRID_CELL_SIZE = 50;
+    //Space between two aliens of a wave
+    private static final int ALIENS_SPACING = 10;
+    //Pixels travelled by a bullet at each step
+    private static final int BULLET_SPEED = 5;
+    //Bullets flying at the same time, more shots are lost
+    public static final int BULLETS_CAPACITY = 128;
+    //Bullets fired by aliens flying at the same time in bullet hell mode
+    public static final int ENEMY_BULLETS_CAPACITY = 8192;
+    //In bullet hell mode, aliens fire a volley every 5 steps
+    private static final int VOLLEY_TICKS = 5;
+    private static final int SHOOTERS_BY_VOLLEY = 12;
+    //Pixels travelled by the spaceship at each move
+    static final int SPACESHIP_SPEED = 10;
+
+    private final Player player = new Player("Player 1", 5, 5);
+    private AlienFormation alienFormation;
+    //Entities stored by archetype, updated by the systems at each step. The spaceship is the only entity of its archetype
+    private final Archetype playerBullets;
+    private final Archetype enemyBullets;
+    private final Archetype spaceship;
+    //All archetypes, in the order they are drawn
+    private final List<Archetype> archetypes;
+
+    //Size of the area where the game takes place
+    private final int width;
+    private final int height;
+    private final GameMode mode;
+
+    //Difficulty, growing with each wave
+    private int aliensPerRow;
+    private int aliensPerColumn;
+    private int alienXSpeed;
+    private int wave;
+
+    private long tick;
+    //Time spent in each phase of a step, when measured
+    private FrameMetrics frameMetrics;
+    private boolean areAllowedMovingRight;
+    private boolean aliensHaveNotJustBeenCreated;
+
+    public GameWorld(int aliensPerRow, int aliensPerColumn, int alienXSpeed) {
+        this(aliensPerRow, aliensPerColumn, alienXSpeed, GameMode.CLASSIC);
+    }
+
+    public GameWorld(int aliensPerRow, int aliensPerColumn, int alienXSpeed, GameMode mode) {
+        this(WIDTH, HEIGHT, aliensPerRow, aliensPerColumn, alienXSpeed, BULLETS_CAPACITY, mode);
+    }
+
+    public GameWorld(int width, int height, int aliensPerRow, int aliensPerColumn, int alienXSpeed, int bulletsCapacity, GameMode mode) {
+        this.width = width;
+        this.height = height;
+        this.mode = mode;
+        //Bullets are drawn smaller than their sprite
+        this.playerBullets = new Archetype("playerBullets", Archetype.VELOCITY | Archetype.ANIMATION | Archetype.COLLIDER, bulletsCapacity,
+                Bullet.BULLET1, (int) (Bullet.BULLET1.getWidth() * 0.7), (int) (Bullet.BULLET1.getHeight() * 0.7));
+        this.enemyBullets = new Archetype("enemyBullets", Archetype.VELOCITY | Archetype.COLLIDER,
+                mode == GameMode.BULLET_HELL ? ENEMY_BULLETS_CAPACITY : 0,
+                Bullet.ENEMY_BULLET1, Bullet.ENEMY_BULLET1.getWidth() / 2, Bullet.ENEMY_BULLET1.getHeight() / 2);
+        //Spaceship is drawn twice the size of its sprite, moved by the player only
+        this.spaceship = new Archetype("spaceship", Archetype.ANIMATION | Archetype.COLLIDER, 1,
+                Spaceship.SPACESHIP1, Spaceship.SPACESHIP1.getWidth() * 2, Spaceship.SPACESHIP1.getHeight() * 2);
+        this.archetypes = Collections.unmodifiableList(Arrays.asList(playerBullets, enemyBullets, spaceship));
+        this.aliensPerRow = aliensPerRow;
+        this.aliensPerColumn = aliensPerColumn;
+        this.alienXSpeed = alienXSpeed;
+        reset();
+    }
+
+    public void reset() {
+        this.player.setLives(5);
+        this.player.setScore(0);
+
+        //Reset all components
+        for ( Archetype archetype : archetypes ) {
+            archetype.clear();
+        }
+        this.tick = 0;
+        this.wave = 0;
+        this.areAllowedMovingRight = true;
+
+        //Create Spaceship and Aliens
+        createSpaceship();
+        createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
+    }
+
+    public boolean isGameOver() {
+        return player.getLives() <= 0;
+    }
+
+    /* Advance the game of one fixed step, applying key presses received since the last step */
+    public void step(GameInput input) {
+        if ( isGameOver() ) {
+            return;
+        }
+
+        //Keep positions of previous step for interpolation
+        for ( int i = 0; i < archetypes.size(); i++ ) {
+            MovementSystem.savePositions(archetypes.get(i));
+        }
+        alienFormation.savePositions();
+
+        handleInput(input);
+        long time = frameMetrics == null ? 0 : System.nanoTime();
+
+        /* Les bullets se déplacent de bas en haut et détruisent les aliens à leur contact */
+        if ( mode == GameMode.BULLET_HELL && tick % VOLLEY_TICKS == 0 ) {
+            aliensFire();
+        }
+        moveBullets();
+        time = record(FrameMetrics.Phase.BULLETS, time);
+
+        /* Les aliens se déplacent de gauche à droite et descendent lorsqu'il touchent le bord du canvas */
+        if (tick % Alien.STEP_TICKS == 0) {
+            //Change direction of aliens if one alien exceed min/max of canvas
+            areAllowedMovingRight = moveAliens(this.areAllowedMovingRight);
+            time = record(FrameMetrics.Phase.ALIENS, time);
+        }
+
+        //Check collision between Bullet and Alien, and between Bullet of aliens and Spaceship
+        bulletAlienCollisionHandler();
+        bulletSpaceshipCollisionHandler();
+        time = record(FrameMetrics.Phase.COLLISION, time);
+
+        aliensHaveWon();
+        alienWaveIsStillAlive();
+        record(FrameMetrics.Phase.RULES, time);
+
+        tick++;
+    }
+
+    //Clock of animations during a step, frames are the ones shown once the step is done
+    public long getAnimationClock() {
+        return tick + 1;
+    }
+
+    public void setFrameMetrics(FrameMetrics frameMetrics) {
+        this.frameMetrics = frameMetrics;
+    }
+
+    private long record(FrameMetrics.Phase phase, long start) {
+        return frameMetrics == null ? 0 : frameMetrics.record(phase, start);
+    }
+
+    public GameSnapshot snapshot() {
+        return snapshot(new GameSnapshot());
+    }
+
+    /* Copy the state of the game into a snapshot, reusing its arrays */
+    public GameSnapshot snapshot(GameSnapshot snapshot) {
+        snapshot.setState(tick, player.getScore(), player.getLives(), wave, isGameOver(), spaceship.getX()[0], spaceship.getY()[0]);
+
+        snapshot.setAliensCount(alienFormation.getAliveCount());
+        for ( int i = 0; i < alienFormation.getAliveCount(); i++ ) {
+            int slot = alienFormation.getAliveSlot(i);
+            snapshot.getAliensX()[i] = alienFormation.getX(slot);
+            snapshot.getAliensY()[i] = alienFormation.getY(slot);
+        }
+
+        snapshot.setBulletsCount(playerBullets.getSize());
+        System.arraycopy(playerBullets.getX(), 0, snapshot.getBulletsX(), 0, playerBullets.getSize());
+        System.arraycopy(playerBullets.getY(), 0, snapshot.getBulletsY(), 0, playerBullets.getSize());
+
+        return snapshot;
+    }
+
+    private void handleInput(GameInput input) {
+        for ( int i = 0; i < input.getLeftPresses(); i++ ) {
+            if( spaceship.getX()[0] >= 0  ) {
+                moveSpaceship(-1);
+            }
+        }
+        for ( int i = 0; i < input.getRightPresses(); i++ ) {
+            if( spaceship.getX()[0] + spaceship.getWidth() <= width ) {
+                moveSpaceship(1);
+            }
+        }
+        for ( int i = 0; i < input.getFirePresses(); i++ ) {
+            createBullet();
+        }
+    }
+
+    //Move of one step to the left or to the right, showing the next frame
+    private void moveSpaceship(int direction) {
+        spaceship.getX()[0] += direction * SPACESHIP_SPEED;
+        spaceship.getPhase()[0] += direction;
+    }
+
+    boolean moveAliens(boolean areAllowedMovingRight) {
+        AlienFormation formation = this.alienFormation;
+        if ( formation.getAliveCount() == 0 ) {
+            return areAllowedMovingRight;
+        }
+
+        //Check if aliens do not exceed min/max width of canvas, with bounds of the alive aliens
+        if ( formation.getMaxX() >= width ) {
+            moveDownAliens();
+            aliensHaveNotJustBeenCreated = true;
+            areAllowedMovingRight = false;
+        }
+        else if ( formation.getMinX() <= 0 && aliensHaveNotJustBeenCreated ) {
+            moveDownAliens();
+            areAllowedMovingRight = true;
+        }
+        else if ( formation.getMinX() < 0 ) {
+            areAllowedMovingRight = true;
+        }
+
+        //Move according to direction (left/right)
+        if ( areAllowedMovingRight ) { formation.moveRight(); }
+        else { formation.moveLeft(); }
+
+        return areAllowedMovingRight;
+    }
+
+    void moveDownAliens() {
+        //Move down all aliens
+        alienFormation.moveDown();
+    }
+
+    void bulletAlienCollisionHandler(){
+        //Remove bullets and aliens hit, and increment score
+        int kills = CollisionSystem.collide(playerBullets, alienFormation, getAnimationClock());
+        player.setScore( player.getScore() + 10 * kills );
+
+        //Check if bullets exceed canvas
+        int[] bulletsY = playerBullets.getY();
+        for ( int i = 0; i < playerBullets.getSize(); i++ ) {
+            if ( bulletsY[i] < 0 ) {
+                player.setScore( player.getScore() - 20 );
+            }
+        }
+
+        //Score is never negative
+        if ( player.getScore() < 0 ) {
+            player.setScore(0);
+        }
+    }
+
+    void bulletSpaceshipCollisionHandler() {
+        //Only the center of the spaceship can be hit, to let it pass between bullets
+        int hitboxWidth = spaceship.getWidth() / 3;
+        int hitboxHeight = spaceship.getHeight() / 3;
+        int hitboxX = spaceship.getX()[0] + (spaceship.getWidth() - hitboxWidth) / 2;
+        int hitboxY = spaceship.getY()[0] + (spaceship.getHeight() - hitboxHeight) / 2;
+
+        if ( CollisionSystem.collide(enemyBullets, hitboxX, hitboxY, hitboxWidth, hitboxHeight) > 0 ) {
+            //Remove 1 live of player, and give the player room to breathe
+            player.setLives( player.getLives() - 1 );
+            enemyBullets.clear();
+        }
+    }
+
+    void aliensFire() {
+        AlienFormation formation = this.alienFormation;
+        if ( formation.getAliveCount() == 0 ) {
+            return;
+        }
+
+        //Shooters and pattern change at each volley, spread over the whole wave
+        long volley = tick / VOLLEY_TICKS;
+        BulletPattern pattern = BulletPattern.values()[(int) (volley % BulletPattern.values().length)];
+        int targetX = spaceship.getX()[0] + spaceship.getWidth() / 2;
+        int targetY = spaceship.getY()[0] + spaceship.getHeight() / 2;
+
+        for ( int i = 0; i < SHOOTERS_BY_VOLLEY; i++ ) {
+            int index = (int) ((volley * 7 + i * (formation.getAliveCount() / SHOOTERS_BY_VOLLEY + 1)) % formation.getAliveCount());
+            int slot = formation.getAliveSlot(index);
+            pattern.fire(enemyBullets,
+                    formation.getX(slot) + formation.getWidth() / 2,
+                    formation.getY(slot) + formation.getHeight(),
+                    tick, targetX, targetY);
+        }
+    }
+
+    void moveBullets() {
+        //Entities which left the canvas are removed before moving, like bullets above the canvas
+        //Indexed loop, an iterator of the list would be allocated at each step
+        for ( int i = 0; i < archetypes.size(); i++ ) {
+            Archetype archetype = archetypes.get(i);
+            //The spaceship is only moved by the player, it is never removed
+            if ( !archetype.has(Archetype.VELOCITY) ) {
+                continue;
+            }
+            LifetimeSystem.update(archetype, width, height);
+            MovementSystem.update(archetype);
+        }
+    }
+
+    private void aliensHaveWon() {
+        //Only aliens sharing a cell of the grid with the spaceship can touch it
+        int x = spaceship.getX()[0];
+        int y = spaceship.getY()[0];
+        int nbCandidates = alienFormation.query(x, y, spaceship.getWidth(), spaceship.getHeight());
+        for ( int i = 0; i < nbCandidates; i++ ) {
+            int slot = alienFormation.getResult(i);
+            if ( alienFormation.intersects(slot, x, y, spaceship.getWidth(), spaceship.getHeight())
+                    && alienFormation.overlaps(slot, getAnimationClock(), spaceship.getMask(0, getAnimationClock()), x, y) ) {
+                //Remove 1 live of player
+                player.setLives( player.getLives() - 1 );
+
+                if ( !isGameOver() ) {
+                    //Reset aliens
+                    createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
+                }
+
+                break;
+            }
+        }
+    }
+
+    private void alienWaveIsStillAlive() {
+
+        if (alienFormation.getAliveCount() == 0) {
+            aliensPerColumn += 1;
+            alienXSpeed += 2;
+            wave++;
+            createAliens(aliensPerRow, aliensPerColumn, alienXSpeed);
+        }
+
+    }
+
+    private void createSpaceship() {
+        //Centered at the bottom of the canvas, showing its first frame
+        spaceship.create(width / 2 - spaceship.getWidth() / 2, height - 20 - spaceship.getHeight(), 0, 0);
+        spaceship.getPhase()[0] = 0;
+    }
+
+    void createAliens(int aliensPerRow, int aliensPerColumn, int alienXSpeed) {
+        //Init x, y positions on canvas
+        int originX = 0;
+        int originY = 25;
+
+        this.aliensHaveNotJustBeenCreated = false;
+
+        //New wave, aliens placed in rows and columns from the origin
+        this.alienFormation = new AlienFormation(Alien.ALIEN1, Alien.ALIEN1.getWidth(), Alien.ALIEN1.getHeight(), alienXSpeed,
+                aliensPerRow + 1, aliensPerColumn + 1, ALIENS_SPACING, originX, originY, GRID_CELL_SIZE);
+    }
+
+    void createBullet() {
+        //Center bullet over the spaceship, shot is lost when all bullets are flying
+        playerBullets.create(
+                spaceship.getX()[0] + spaceship.getWidth() / 2 - playerBullets.getWidth() / 2,
+                spaceship.getY()[0] - spaceship.getHeight() + playerBullets.getHeight() / 2,
+                0, -BULLET_SPEED << Archetype.SUBPIXEL_SHIFT);
+    }
+}
@@ -0,0 +1,131 @@
+package app.engine;
+
+import lombok.Getter;
+
+/* Keys pressed and released by the player, captured by the UI and consumed by the simulation once per step.
+ * A press acts at the next step, a held key repeats at a fixed rate of steps whatever the key repeat of the system */
+@Getter
+public class InputBuffer {
+    //Power of two, events beyond it are dropped until the next step
+    private static final int CAPACITY = 64;
+    //Steps between two moves and two shots while the key is held
+    public static final int MOVE_REPEAT_TICKS = 2;
+    public static final int FIRE_REPEAT_TICKS = 8;
+
+    //Ring buffer of key transitions with the time they were received
+    private final byte[] eventKeys = new byte[CAPACITY];
+    private final boolean[] eventPressed = new boolean[CAPACITY];
+    private final long[] eventTimes = new long[CAPACITY];
+    private long head = 0;
+    private long tail = 0;
+    private long droppedCount = 0;
+
+    //Keys held, as received by the UI and as seen by the simulation, one bit by key
+    private int keysDown = 0;
+    private int polledKeysDown = 0;
+    //Steps each key has been held for
+    private final int[] heldTicks = new int[GameKey.values().length];
+
+    //Time of the oldest press applied since the last frame, 0 if none
+    private long pendingPressTime = 0;
+
+    public void press(GameKey key, long time) {
+        //Repeats of the system are ignored, the simulation repeats held keys itself
+        if ( isDown(key) ) {
+            return;
+        }
+        keysDown |= 1 << key.ordinal();
+        add(key, true, time);
+    }
+
+    public void release(GameKey key, long time) {
+        if ( !isDown(key) ) {
+            return;
+        }
+        keysDown &= ~(1 << key.ordinal());
+        add(key, false, time);
+    }
+
+    /* Release all keys, when the game loses the keyboard */
+    public void releaseAll(long time) {
+        for ( GameKey key : GameKey.values() ) {
+            release(key, time);
+        }
+    }
+
+    public boolean isDown(GameKey key) {
+        return (keysDown & 1 << key.ordinal()) != 0;
+    }
+
+    private void add(GameKey key, boolean isPressed, long time) {
+        if ( head - tail == CAPACITY ) {
+            droppedCount++;
+            return;
+        }
+
+        int index = (int) (head & (CAPACITY - 1));
+        eventKeys[index] = (byte) key.ordinal();
+        eventPressed[index] = isPressed;
+        eventTimes[index] = time;
+        head++;
+    }
+
+    /* Turn events received since the last step and keys held into the input of the next step */
+    public void poll(GameInput input) {
+        //Keys pressed during this step act once, even if already released
+        int justPressed = 0;
+        for ( ; tail < head; tail++ ) {
+            int index = (int) (tail & (CAPACITY - 1));
+            int bit = 1 << eventKeys[index];
+
+            if ( eventPressed[index] ) {
+                polledKeysDown |= bit;
+                if ( (justPressed & bit) == 0 ) {
+                    justPressed |= bit;
+                    press(input, GameKey.values()[eventKeys[index]]);
+                    heldTicks[eventKeys[index]] = 0;
+                }
+                if ( pendingPressTime == 0 ) {
+                    pendingPressTime = eventTimes[index];
+                }
+            } else {
+                polledKeysDown &= ~bit;
+            }
+        }
+
+        //Keys held since a previous step repeat
+        for ( GameKey key : GameKey.values() ) {
+            int bit = 1 << key.ordinal();
+            if ( (polledKeysDown & bit) == 0 || (justPressed & bit) != 0 ) {
+                continue;
+            }
+
+            int ticks = ++heldTicks[key.ordinal()];
+            int repeatTicks = key == GameKey.FIRE ? FIRE_REPEAT_TICKS : MOVE_REPEAT_TICKS;
+            if ( ticks % repeatTicks == 0 ) {
+                press(input, key);
+            }
+        }
+    }
+
+    private static void press(GameInput input, GameKey key) {
+        //Pause is handled by the UI
+        if ( key != GameKey.PAUSE ) {
+            input.press(key);
+        }
+    }
+
+    /* Time of the oldest press applied since the last call, 0 if none */
+    public long takePendingPressTime() {
+        long time = pendingPressTime;
+        pendingPressTime = 0;
+        return time;
+    }
+
+    public void clear() {
+        tail = head;
+        keysDown = 0;
+        polledKeysDown = 0;
+        pendingPressTime = 0;
+    }
+}
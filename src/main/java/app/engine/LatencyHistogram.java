@@ -0,0 +1,95 @@
+package app.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* Log-linear histogram of durations in nanoseconds, about 6% precision.
+ * Recording is lock-free, so another thread can read it while the game records */
+public class LatencyHistogram {
+    //Values below 32 have their own bucket, then 16 buckets for each power of 2
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int BUCKETS = LINEAR_BUCKETS + 59 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if ( value < 0 ) {
+            value = 0;
+        }
+
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+
+        long currentMax = max.get();
+        while ( value > currentMax && !max.compareAndSet(currentMax, value) ) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /* Highest value of the bucket holding the given percentile (0 to 100) */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if ( count == 0 ) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for ( int index = 0; index < BUCKETS; index++ ) {
+            seen += counts.get(index);
+            if ( seen >= target ) {
+                return Math.min(highestValueOf(index), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for ( int index = 0; index < BUCKETS; index++ ) {
+            counts.set(index, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        max.set(0);
+    }
+
+    static int indexOf(long value) {
+        if ( value < LINEAR_BUCKETS ) {
+            return (int) value;
+        }
+
+        //Keep the 5 highest bits of the value
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        int top = (int) (value >>> shift);
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    static long highestValueOf(int index) {
+        if ( index < LINEAR_BUCKETS ) {
+            return index;
+        }
+
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long top = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
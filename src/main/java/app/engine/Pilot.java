@@ -0,0 +1,6 @@
+package app.engine;
+
+/* Presses keys for the player, called once before each step */
+public interface Pilot {
+    void play(GameWorld gameWorld, GameInput gameInput);
+}
@@ -0,0 +1,24 @@
+package app.engine;
+
+import java.util.Random;
+
+/* Presses random keys, with a seed to play the same game again */
+public class RandomPilot implements Pilot {
+    private final Random random;
+
+    public RandomPilot(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void play(GameWorld gameWorld, GameInput gameInput) {
+        //About 10 key presses per second, like a hurried player
+        if ( random.nextInt(6) == 0 ) {
+            switch (random.nextInt(3)) {
+                case 0: gameInput.pressLeft(); break;
+                case 1: gameInput.pressRight(); break;
+                default: gameInput.pressFire(); break;
+            }
+        }
+    }
+}
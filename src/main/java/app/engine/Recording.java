@@ -0,0 +1,149 @@
+package app.engine;
+
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/* Key presses of a game with the tick they were applied at, its options and its final result.
+ * Binary format: magic, version, options, events as varints (tick delta and key), result */
+@Getter
+public class Recording {
+    private static final int MAGIC = 0x53495243;
+    //Version 2: aliens drop once when the wave reaches a border
+    //Version 3: game mode
+    //Version 4: collisions with aliens on solid pixels only
+    //Version 5: bullets swept along both axes
+    private static final int VERSION = 5;
+
+    private final int aliensPerRow;
+    private final int aliensPerColumn;
+    private final int alienXSpeed;
+    private final GameMode mode;
+
+    private int eventsCount = 0;
+    private long[] eventTicks = new long[64];
+    private byte[] eventKeys = new byte[64];
+
+    private long finalTick;
+    private int finalScore;
+    private int finalLives;
+
+    public Recording(int aliensPerRow, int aliensPerColumn, int alienXSpeed, GameMode mode) {
+        this.aliensPerRow = aliensPerRow;
+        this.aliensPerColumn = aliensPerColumn;
+        this.alienXSpeed = alienXSpeed;
+        this.mode = mode;
+    }
+
+    public void record(long tick, GameKey key) {
+        if ( eventsCount == eventTicks.length ) {
+            eventTicks = Arrays.copyOf(eventTicks, eventsCount * 2);
+            eventKeys = Arrays.copyOf(eventKeys, eventsCount * 2);
+        }
+        eventTicks[eventsCount] = tick;
+        eventKeys[eventsCount] = (byte) key.ordinal();
+        eventsCount++;
+    }
+
+    /* Record key presses applied by the step at tick */
+    public void record(long tick, GameInput input) {
+        for ( int i = 0; i < input.getLeftPresses(); i++ ) { record(tick, GameKey.LEFT); }
+        for ( int i = 0; i < input.getRightPresses(); i++ ) { record(tick, GameKey.RIGHT); }
+        for ( int i = 0; i < input.getFirePresses(); i++ ) { record(tick, GameKey.FIRE); }
+    }
+
+    public void finish(GameWorld gameWorld) {
+        this.finalTick = gameWorld.getTick();
+        this.finalScore = gameWorld.getPlayer().getScore();
+        this.finalLives = gameWorld.getPlayer().getLives();
+    }
+
+    public long getEventTick(int index) {
+        return eventTicks[index];
+    }
+
+    public GameKey getEventKey(int index) {
+        return GameKey.values()[eventKeys[index]];
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            write(output);
+        }
+    }
+
+    public void write(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInt(aliensPerRow);
+        output.writeInt(aliensPerColumn);
+        output.writeInt(alienXSpeed);
+        output.writeByte(mode.ordinal());
+
+        //Ticks only grow, store the delta with the key in its 2 lowest bits
+        writeVarLong(output, eventsCount);
+        long previousTick = 0;
+        for ( int i = 0; i < eventsCount; i++ ) {
+            writeVarLong(output, (eventTicks[i] - previousTick) << 2 | eventKeys[i]);
+            previousTick = eventTicks[i];
+        }
+
+        writeVarLong(output, finalTick);
+        output.writeInt(finalScore);
+        output.writeInt(finalLives);
+    }
+
+    public static Recording read(Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return read(input);
+        }
+    }
+
+    public static Recording read(DataInputStream input) throws IOException {
+        if ( input.readInt() != MAGIC ) {
+            throw new IOException("Not a game recording");
+        }
+        int version = input.readByte();
+        if ( version != VERSION ) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+
+        Recording recording = new Recording(input.readInt(), input.readInt(), input.readInt(), GameMode.values()[input.readByte()]);
+
+        long eventsCount = readVarLong(input);
+        long tick = 0;
+        for ( long i = 0; i < eventsCount; i++ ) {
+            long event = readVarLong(input);
+            tick += event >>> 2;
+            recording.record(tick, GameKey.values()[(int) (event & 0b11)]);
+        }
+
+        recording.finalTick = readVarLong(input);
+        recording.finalScore = input.readInt();
+        recording.finalLives = input.readInt();
+        return recording;
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ( (value & ~0x7FL) != 0 ) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        for ( int shift = 0; shift < 64; shift += 7 ) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ( (b & 0x80) == 0 ) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,59 @@
+package app.engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/* Run recorded games again without rendering and check they end the same way */
+public class Replayer {
+
+    public static GameWorld replay(Recording recording) {
+        GameWorld gameWorld = new GameWorld(recording.getAliensPerRow(), recording.getAliensPerColumn(), recording.getAlienXSpeed(), recording.getMode());
+        GameInput gameInput = new GameInput();
+        int event = 0;
+
+        while ( gameWorld.getTick() < recording.getFinalTick() && !gameWorld.isGameOver() ) {
+            //Keys applied at this tick
+            while ( event < recording.getEventsCount() && recording.getEventTick(event) == gameWorld.getTick() ) {
+                gameInput.press(recording.getEventKey(event++));
+            }
+            gameWorld.step(gameInput);
+            gameInput.clear();
+        }
+
+        return gameWorld;
+    }
+
+    public static boolean matches(Recording recording, GameWorld gameWorld) {
+        return gameWorld.getTick() == recording.getFinalTick()
+                && gameWorld.getPlayer().getScore() == recording.getFinalScore()
+                && gameWorld.getPlayer().getLives() == recording.getFinalLives();
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean allMatch = true;
+
+        for ( String arg : args ) {
+            Path file = Paths.get(arg);
+            Recording recording = Recording.read(file);
+
+            long start = System.nanoTime();
+            GameWorld gameWorld = replay(recording);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            boolean match = matches(recording, gameWorld);
+            allMatch &= match;
+            System.out.printf("%s %s ticks %d (%.0f ticks/s) score %d/%d lives %d/%d%n",
+                    match ? "OK      " : "MISMATCH",
+                    file,
+                    gameWorld.getTick(),
+                    gameWorld.getTick() / Math.max(seconds, 1e-9),
+                    gameWorld.getPlayer().getScore(), recording.getFinalScore(),
+                    gameWorld.getPlayer().getLives(), recording.getFinalLives());
+        }
+
+        if ( !allMatch ) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package app.engine;
+
+import app.models.SpaceCanvas;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import lombok.Getter;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Unattended load test: games played by the autopilot one after the other for a wall-clock duration.
+ * Launch options: --soak-minutes=480 [--soak-scale=2] [--soak-mode=classic|bullet_hell] [--soak-report=soak.txt] */
+@Getter
+public class SoakTest {
+    private final long durationNanos;
+    //Rows of aliens are multiplied by the scale, from the Hard preset
+    private final int scale;
+    private final GameMode mode;
+    private final Path reportFile;
+
+    private final int aliensPerRow;
+    private final int aliensPerColumn;
+    private final int alienXSpeed;
+
+    private long start;
+    private int gamesCount = 0;
+    private long ticksCount = 0;
+    private int maxAliensCount = 0;
+    private int maxPlayerBulletsCount = 0;
+    private int maxEnemyBulletsCount = 0;
+
+    //Collections seen since start, from notifications of the JVM
+    private final AtomicLong gcCount = new AtomicLong();
+    private final AtomicLong gcTotalMillis = new AtomicLong();
+    private final AtomicLong gcMaxMillis = new AtomicLong();
+
+    public SoakTest(long durationNanos, int scale, GameMode mode, Path reportFile) {
+        this.durationNanos = durationNanos;
+        this.scale = scale;
+        this.mode = mode;
+        this.reportFile = reportFile;
+
+        Difficulty hard = Difficulty.HARD;
+        this.aliensPerRow = hard.getAliensPerRow();
+        this.aliensPerColumn = (hard.getAliensPerColumn() + 1) * scale - 1;
+        this.alienXSpeed = hard.getAlienXSpeed();
+    }
+
+    /* Soak test described by named launch options, null when not asked for.
+     * Throws IllegalArgumentException on a wrong option, before anything is played */
+    public static SoakTest fromOptions(Map<String, String> options) {
+        String minutes = options.get("soak-minutes");
+        if ( minutes == null ) {
+            return null;
+        }
+
+        return new SoakTest(
+                TimeUnit.MINUTES.toNanos(positive("soak-minutes", minutes)),
+                positive("soak-scale", options.getOrDefault("soak-scale", "1")),
+                mode(options.getOrDefault("soak-mode", "classic")),
+                Paths.get(options.getOrDefault("soak-report", "soak.txt"))
+        );
+    }
+
+    private static int positive(String option, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if ( number >= 1 ) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            //Reported below, like a number below 1
+        }
+        throw new IllegalArgumentException("--" + option + " must be a positive number, not " + value);
+    }
+
+    private static GameMode mode(String value) {
+        for ( GameMode gameMode : GameMode.values() ) {
+            if ( gameMode.name().equalsIgnoreCase(value) ) {
+                return gameMode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown --soak-mode " + value);
+    }
+
+    public void start() {
+        start = System.nanoTime();
+
+        //Peaks of the heap are measured from now
+        for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+            if ( pool.getType() == MemoryType.HEAP ) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        //Duration of each collection, to get the longest one
+        NotificationListener gcListener = (notification, handback) -> {
+            if ( GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()) ) {
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                gcCount.incrementAndGet();
+                gcTotalMillis.addAndGet(info.getGcInfo().getDuration());
+                gcMaxMillis.accumulateAndGet(info.getGcInfo().getDuration(), Math::max);
+            }
+        };
+        for ( GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans() ) {
+            if ( collector instanceof NotificationEmitter ) {
+                ((NotificationEmitter) collector).addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    public boolean isOver() {
+        return System.nanoTime() - start >= durationNanos;
+    }
+
+    public GameWorld newGame() {
+        gamesCount++;
+        return new GameWorld(aliensPerRow, aliensPerColumn, alienXSpeed, mode);
+    }
+
+    /* Keep peaks of entities, called once per frame */
+    public void frame(GameWorld gameWorld) {
+        maxAliensCount = Math.max(maxAliensCount, gameWorld.getAlienFormation().getAliveCount());
+        maxPlayerBulletsCount = Math.max(maxPlayerBulletsCount, gameWorld.getPlayerBullets().getSize());
+        maxEnemyBulletsCount = Math.max(maxEnemyBulletsCount, gameWorld.getEnemyBullets().getSize());
+    }
+
+    public void gameOver(GameWorld gameWorld) {
+        ticksCount += gameWorld.getTick();
+    }
+
+    public String report(FrameMetrics frameMetrics) {
+        StringBuilder report = new StringBuilder();
+        LatencyHistogram frame = frameMetrics.getHistogram(FrameMetrics.Phase.FRAME);
+
+        report.append("time ").append(Instant.now()).append('\n');
+        report.append("java ").append(System.getProperty("java.vm.name")).append(' ').append(System.getProperty("java.runtime.version")).append('\n');
+        //Pipeline of JavaFX, software when prism.order=sw
+        report.append(String.format(Locale.ROOT, "renderer %s prism.order %s%n", SpaceCanvas.getBackend(), System.getProperty("prism.order", "default")));
+        report.append(String.format(Locale.ROOT, "duration %.1f min scale %d mode %s aliens %dx%d speed %d%n",
+                (System.nanoTime() - start) / 6e10, scale, mode, aliensPerRow + 1, aliensPerColumn + 1, alienXSpeed));
+        report.append(String.format(Locale.ROOT, "games %d ticks %d%n", gamesCount, ticksCount));
+
+        //Frame times
+        report.append(String.format(Locale.ROOT, "frames %d%n", frame.getCount()));
+        report.append(String.format(Locale.ROOT, "frame p50 %.2f ms p90 %.2f ms p99 %.2f ms p99.9 %.2f ms%n",
+                frame.getValueAtPercentile(50) / 1e6, frame.getValueAtPercentile(90) / 1e6,
+                frame.getValueAtPercentile(99) / 1e6, frame.getValueAtPercentile(99.9) / 1e6));
+        report.append(String.format(Locale.ROOT, "frame max %.2f ms mean %.2f ms%n", frame.getMax() / 1e6, frame.getMean() / 1e6));
+
+        //Garbage collections, time is the total of each collector since start of the JVM
+        for ( GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans() ) {
+            report.append(String.format(Locale.ROOT, "gc %s count %d time %d ms%n",
+                    collector.getName(), collector.getCollectionCount(), collector.getCollectionTime()));
+        }
+        report.append(String.format(Locale.ROOT, "gc during soak count %d total %d ms max %d ms%n", gcCount.get(), gcTotalMillis.get(), gcMaxMillis.get()));
+
+        //Heap high-water mark, sum of the peaks of each pool so an upper bound
+        long heapPeak = 0;
+        for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+            if ( pool.getType() == MemoryType.HEAP ) {
+                heapPeak += pool.getPeakUsage().getUsed();
+            }
+        }
+        report.append(String.format(Locale.ROOT, "heap peak %.1f MB max %.1f MB%n",
+                heapPeak / 1048576.0, Runtime.getRuntime().maxMemory() / 1048576.0));
+
+        //Entities
+        report.append(String.format(Locale.ROOT, "entities max aliens %d player bullets %d enemy bullets %d%n",
+                maxAliensCount, maxPlayerBulletsCount, maxEnemyBulletsCount));
+
+        return report.toString();
+    }
+
+    public void writeReport(FrameMetrics frameMetrics) throws IOException {
+        Files.write(reportFile, report(frameMetrics).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,144 @@
+package app.engine.ecs;
+
+import app.models.CollisionMask;
+import app.models.FrameTable;
+import app.models.Sprite;
+import lombok.Getter;
+
+/* Entities sharing the same components, stored as dense parallel arrays.
+ * Live entities are kept at indexes 0 to size - 1, removing one moves the last in its place */
+@Getter
+public class Archetype {
+    public static final int POSITION = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int ANIMATION = 1 << 2;
+    public static final int COLLIDER = 1 << 3;
+
+    //Velocities are in 1/256 of pixel by step, so any direction and speed can be represented
+    public static final int SUBPIXEL_SHIFT = 8;
+    public static final int SUBPIXEL_MASK = (1 << SUBPIXEL_SHIFT) - 1;
+
+    private final String name;
+    private final int components;
+    private final int capacity;
+
+    //Shared by all entities: sprite, size and frames in the sprite sheet
+    private final Sprite sprite;
+    private final int width;
+    private final int height;
+    private final FrameTable frames;
+    //Solid pixels of each frame, for colliders
+    private final CollisionMask[] masks;
+
+    //Position
+    private final int[] x;
+    private final int[] y;
+    private final int[] previousX;
+    private final int[] previousY;
+    //Velocity, and fraction of pixel travelled but not applied to the position yet
+    private final int[] xSpeed;
+    private final int[] ySpeed;
+    private final int[] subX;
+    private final int[] subY;
+    //Animation, frames ahead of the animation clock. Spread by order of creation so entities do not blink together
+    private final int[] phase;
+
+    private int size = 0;
+    private int peakSize = 0;
+    private long createdCount = 0;
+    private long exhaustedCount = 0;
+
+    public Archetype(String name, int components, int capacity, Sprite sprite, int width, int height) {
+        this.name = name;
+        this.components = components | POSITION;
+        this.capacity = capacity;
+
+        this.sprite = sprite;
+        this.width = width;
+        this.height = height;
+        this.frames = sprite.getFrames();
+        this.masks = has(COLLIDER) ? CollisionMask.of(sprite, width, height) : null;
+
+        this.x = new int[capacity];
+        this.y = new int[capacity];
+        this.previousX = new int[capacity];
+        this.previousY = new int[capacity];
+        this.xSpeed = has(VELOCITY) ? new int[capacity] : null;
+        this.ySpeed = has(VELOCITY) ? new int[capacity] : null;
+        this.subX = has(VELOCITY) ? new int[capacity] : null;
+        this.subY = has(VELOCITY) ? new int[capacity] : null;
+        this.phase = has(ANIMATION) ? new int[capacity] : null;
+    }
+
+    public boolean has(int component) {
+        return (components & component) != 0;
+    }
+
+    /* Add an entity and return its index, or -1 when the archetype is full.
+     * Speeds are in 1/256 of pixel by step */
+    public int create(int x, int y, int xSpeed, int ySpeed) {
+        if ( size == capacity ) {
+            exhaustedCount++;
+            return -1;
+        }
+
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.previousX[index] = x;
+        this.previousY[index] = y;
+        if ( has(VELOCITY) ) {
+            this.xSpeed[index] = xSpeed;
+            this.ySpeed[index] = ySpeed;
+            this.subX[index] = 0;
+            this.subY[index] = 0;
+        }
+        if ( has(ANIMATION) ) {
+            this.phase[index] = (int) (createdCount % frames.getNbFrames());
+        }
+
+        createdCount++;
+        if ( size > peakSize ) {
+            peakSize = size;
+        }
+        return index;
+    }
+
+    public void remove(int index) {
+        int last = --size;
+        x[index] = x[last];
+        y[index] = y[last];
+        previousX[index] = previousX[last];
+        previousY[index] = previousY[last];
+        if ( has(VELOCITY) ) {
+            xSpeed[index] = xSpeed[last];
+            ySpeed[index] = ySpeed[last];
+            subX[index] = subX[last];
+            subY[index] = subY[last];
+        }
+        if ( has(ANIMATION) ) {
+            phase[index] = phase[last];
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    //Frame of an entity at this time of the animation clock
+    public int getFrame(int index, long clock) {
+        return has(ANIMATION) ? frames.frameAt(clock, phase[index]) : 0;
+    }
+
+    public CollisionMask getMask(int index, long clock) {
+        return masks[getFrame(index, clock)];
+    }
+
+    public double getRenderX(int index, double alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    public double getRenderY(int index, double alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+}
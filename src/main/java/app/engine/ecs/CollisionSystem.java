@@ -0,0 +1,118 @@
+package app.engine.ecs;
+
+import app.models.AlienFormation;
+import app.models.CollisionMask;
+
+/* Removes colliders hitting an alien or the spaceship, and the alien they hit */
+public class CollisionSystem {
+
+    /* Return the number of aliens killed. Frames shown at clock give the solid pixels of each entity */
+    public static int collide(Archetype projectiles, AlienFormation alienFormation, long clock) {
+        if ( !projectiles.has(Archetype.COLLIDER) ) {
+            return 0;
+        }
+
+        int[] x = projectiles.getX();
+        int[] y = projectiles.getY();
+        int[] previousX = projectiles.getPreviousX();
+        int[] previousY = projectiles.getPreviousY();
+        int width = projectiles.getWidth();
+        int height = projectiles.getHeight();
+        int kills = 0;
+
+        for ( int i = 0; i < projectiles.getSize(); ) {
+            //Area swept during the step, from the previous position to the current one, along both axes
+            int sweptX = Math.min(x[i], previousX[i]);
+            int sweptY = Math.min(y[i], previousY[i]);
+            int sweptWidth = Math.max(x[i], previousX[i]) + width - sweptX;
+            int sweptHeight = Math.max(y[i], previousY[i]) + height - sweptY;
+
+            //Check collision only with aliens sharing a cell of the grid, the first one met along the travel is hit
+            int hitSlot = -1;
+            int hitContact = Integer.MAX_VALUE;
+            int nbCandidates = alienFormation.query(sweptX, sweptY, sweptWidth, sweptHeight);
+            for ( int indexCandidate = 0; indexCandidate < nbCandidates; indexCandidate++ ) {
+                int slot = alienFormation.getResult(indexCandidate);
+                if ( !alienFormation.intersects(slot, sweptX, sweptY, sweptWidth, sweptHeight) ) {
+                    continue;
+                }
+
+                //Only pixels travelled before the closest hit found so far are tested
+                int contact = firstContact(alienFormation, slot, clock, projectiles.getMask(i, clock), previousX[i], previousY[i], x[i], y[i], hitContact);
+                if ( contact >= 0 ) {
+                    hitSlot = slot;
+                    hitContact = contact;
+                }
+            }
+
+            if ( hitSlot >= 0 ) {
+                projectiles.remove(i);
+                alienFormation.kill(hitSlot);
+                kills++;
+            } else {
+                i++;
+            }
+        }
+
+        return kills;
+    }
+
+    /* Pixel of the travel where the mask first overlaps the alien, -1 if not before limit.
+     * Masks are tested at each pixel travelled during the step, so fast projectiles cannot pass through gaps */
+    private static int firstContact(AlienFormation alienFormation, int slot, long clock, CollisionMask mask, int fromX, int fromY, int toX, int toY, int limit) {
+        int distance = Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+        for ( int i = 0; i <= distance && i < limit; i++ ) {
+            int x = distance == 0 ? toX : fromX + (toX - fromX) * i / distance;
+            int y = distance == 0 ? toY : fromY + (toY - fromY) * i / distance;
+            if ( alienFormation.overlaps(slot, clock, mask, x, y) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Remove colliders hitting the given area during the step and return how many did */
+    public static int collide(Archetype projectiles, int x, int y, int width, int height) {
+        if ( !projectiles.has(Archetype.COLLIDER) ) {
+            return 0;
+        }
+
+        int[] projectilesX = projectiles.getX();
+        int[] projectilesY = projectiles.getY();
+        int[] previousX = projectiles.getPreviousX();
+        int[] previousY = projectiles.getPreviousY();
+        int hits = 0;
+
+        for ( int i = 0; i < projectiles.getSize(); ) {
+            if ( sweeps(projectiles, previousX[i], previousY[i], projectilesX[i], projectilesY[i], x, y, width, height) ) {
+                projectiles.remove(i);
+                hits++;
+            } else {
+                i++;
+            }
+        }
+
+        return hits;
+    }
+
+    //Whether the collider meets the area at a pixel travelled during the step, in any direction
+    private static boolean sweeps(Archetype projectiles, int fromX, int fromY, int toX, int toY, int x, int y, int width, int height) {
+        int minX = Math.min(fromX, toX);
+        int minY = Math.min(fromY, toY);
+        if ( Math.max(fromX, toX) + projectiles.getWidth() <= x || x + width <= minX
+                || Math.max(fromY, toY) + projectiles.getHeight() <= y || y + height <= minY ) {
+            return false;
+        }
+
+        int distance = Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+        for ( int i = 0; i <= distance; i++ ) {
+            int stepX = distance == 0 ? toX : fromX + (toX - fromX) * i / distance;
+            int stepY = distance == 0 ? toY : fromY + (toY - fromY) * i / distance;
+            if ( stepX < x + width && x < stepX + projectiles.getWidth()
+                    && stepY < y + height && y < stepY + projectiles.getHeight() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
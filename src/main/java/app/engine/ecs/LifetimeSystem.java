@@ -0,0 +1,22 @@
+package app.engine.ecs;
+
+/* Removes entities which left the world */
+public class LifetimeSystem {
+
+    public static void update(Archetype archetype, int worldWidth, int worldHeight) {
+        int[] x = archetype.getX();
+        int[] y = archetype.getY();
+
+        for ( int i = 0; i < archetype.getSize(); ) {
+            boolean isOutside = x[i] + archetype.getWidth() <= 0 || x[i] >= worldWidth
+                    || y[i] + archetype.getHeight() <= 0 || y[i] >= worldHeight;
+
+            //Last entity takes the place of the removed one, check it at same index
+            if ( isOutside ) {
+                archetype.remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+}
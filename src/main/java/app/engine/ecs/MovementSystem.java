@@ -0,0 +1,34 @@
+package app.engine.ecs;
+
+/* Moves entities of their velocity, keeping previous position for interpolation */
+public class MovementSystem {
+
+    /* Keep positions at the start of the step, before entities are moved by the step or by the player */
+    public static void savePositions(Archetype archetype) {
+        System.arraycopy(archetype.getX(), 0, archetype.getPreviousX(), 0, archetype.getSize());
+        System.arraycopy(archetype.getY(), 0, archetype.getPreviousY(), 0, archetype.getSize());
+    }
+
+    public static void update(Archetype archetype) {
+        if ( !archetype.has(Archetype.VELOCITY) ) {
+            return;
+        }
+
+        int[] x = archetype.getX();
+        int[] y = archetype.getY();
+        int[] xSpeed = archetype.getXSpeed();
+        int[] ySpeed = archetype.getYSpeed();
+        int[] subX = archetype.getSubX();
+        int[] subY = archetype.getSubY();
+        int size = archetype.getSize();
+        for ( int i = 0; i < size; i++ ) {
+            //Whole pixels go to the position, the fraction is kept for next steps
+            int fx = subX[i] + xSpeed[i];
+            int fy = subY[i] + ySpeed[i];
+            x[i] += fx >> Archetype.SUBPIXEL_SHIFT;
+            y[i] += fy >> Archetype.SUBPIXEL_SHIFT;
+            subX[i] = fx & Archetype.SUBPIXEL_MASK;
+            subY[i] = fy & Archetype.SUBPIXEL_MASK;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package app.engine.ecs;
+
+import app.models.DirtyRegions;
+import app.models.FrameTable;
+import app.models.RenderSurface;
+
+import java.util.Arrays;
+import java.util.List;
+
+/* Draws entities of archetypes between their previous and current position.
+ * Keeps what was drawn at last frame, so only entities moved or animated since then damage the surface */
+public class RenderSystem {
+    //Archetypes drawn at last frame, entities drawn by archetype and their rects
+    private List<Archetype> lastArchetypes;
+    private int[] lastCounts = new int[0];
+    private int[][] rects = new int[0][];
+
+    /* Add regions changed since the last frame: old and new rect of each entity moved or animated */
+    public void damage(List<Archetype> archetypes, double alpha, long clock, DirtyRegions dirtyRegions) {
+        //New world, all entities of the previous one are gone
+        if ( archetypes != lastArchetypes ) {
+            for ( int indexArchetype = 0; indexArchetype < lastCounts.length; indexArchetype++ ) {
+                for ( int i = 0; i < lastCounts[indexArchetype]; i++ ) {
+                    addRect(dirtyRegions, rects[indexArchetype], 6 * i);
+                }
+            }
+            lastCounts = new int[archetypes.size()];
+            rects = new int[archetypes.size()][0];
+            lastArchetypes = archetypes;
+        }
+
+        for ( int indexArchetype = 0; indexArchetype < archetypes.size(); indexArchetype++ ) {
+            Archetype archetype = archetypes.get(indexArchetype);
+            int lastCount = lastCounts[indexArchetype];
+            int size = archetype.getSize();
+            if ( rects[indexArchetype].length < 6 * size ) {
+                rects[indexArchetype] = Arrays.copyOf(rects[indexArchetype], 6 * size * 2);
+            }
+            int[] lRects = rects[indexArchetype];
+
+            //Entities of an archetype look the same, an entity drawn at the same place as the last one at its index changes nothing
+            FrameTable frames = archetype.getFrames();
+            for ( int i = 0; i < Math.max(lastCount, size); i++ ) {
+                int offset = 6 * i;
+                if ( i >= size ) {
+                    addRect(dirtyRegions, lRects, offset);
+                    continue;
+                }
+
+                int x = (int) Math.round(archetype.getRenderX(i, alpha));
+                int y = (int) Math.round(archetype.getRenderY(i, alpha));
+                int frame = archetype.getFrame(i, clock);
+                int dx = frames.getDx(frame);
+                int dy = frames.getDy(frame);
+                if ( i < lastCount ) {
+                    if ( lRects[offset] == x && lRects[offset + 1] == y && lRects[offset + 4] == dx && lRects[offset + 5] == dy ) {
+                        continue;
+                    }
+                    addRect(dirtyRegions, lRects, offset);
+                }
+                setRect(lRects, offset, x, y, archetype.getWidth(), archetype.getHeight(), dx, dy);
+                addRect(dirtyRegions, lRects, offset);
+            }
+            lastCounts[indexArchetype] = size;
+        }
+    }
+
+    /* Draw entities inside the damaged regions, in the order of the archetypes, and return the number of draws */
+    public int draw(List<Archetype> archetypes, DirtyRegions dirtyRegions, RenderSurface surface) {
+        int draws = 0;
+        for ( int indexArchetype = 0; indexArchetype < archetypes.size(); indexArchetype++ ) {
+            Archetype archetype = archetypes.get(indexArchetype);
+            int[] lRects = rects[indexArchetype];
+            for ( int i = 0; i < archetype.getSize(); i++ ) {
+                int offset = 6 * i;
+                if ( dirtyRegions.intersects(lRects[offset], lRects[offset + 1], lRects[offset + 2], lRects[offset + 3]) ) {
+                    surface.draw(archetype.getSprite(), lRects[offset + 4], lRects[offset + 5], lRects[offset], lRects[offset + 1], lRects[offset + 2], lRects[offset + 3]);
+                    draws++;
+                }
+            }
+        }
+        return draws;
+    }
+
+    private static void addRect(DirtyRegions dirtyRegions, int[] rects, int offset) {
+        dirtyRegions.add(rects[offset], rects[offset + 1], rects[offset + 2], rects[offset + 3]);
+    }
+
+    //Rect stored as x, y, width, height and offset of the frame in the sprite sheet
+    private static void setRect(int[] rects, int offset, int x, int y, int width, int height, int dx, int dy) {
+        rects[offset] = x;
+        rects[offset + 1] = y;
+        rects[offset + 2] = width;
+        rects[offset + 3] = height;
+        rects[offset + 4] = dx;
+        rects[offset + 5] = dy;
+    }
+}
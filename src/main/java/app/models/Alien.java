@@ -1,27 +1,15 @@
 package app.models;
 
-import lombok.Getter;
-import lombok.Setter;
 
+/* Sprites of the aliens. Aliens are slots of an AlienFormation, no alien is an object */
+public final class Alien {
+    //Aliens move once every 17 steps (about 280 ms)
+    public static final int STEP_TICKS = 17;
 
-@Getter @Setter
-public class Alien extends AnimatedComponent {
-    private static final int ySpeed = 10;
+    //Shared by all aliens, the frame changes with each move of the wave
+    public static final Sprite ALIEN1 = Sprite.horizontal(343, 199, 33, 21, 2, STEP_TICKS);
+    public static final Sprite ALIEN2 = Sprite.horizontal(410, 199, 33, 21, 2, STEP_TICKS);
 
-    private Alien(int x, int y, Sprite sprite, int width, int height, int xSpeed) {
-        super(x, y, sprite, width, height, xSpeed, ySpeed);
-    }
-
-    public static Alien alien1(int x, int y, int xSpeed) {
-        Sprite sprite = new Sprite(343, 199, 66, 21, 1, 2);
-
-
-        return new Alien(x, y, sprite, sprite.getWidth() / sprite.getNbFrames(), sprite.getHeight(), xSpeed);
-    }
-
-    public static Alien alien2(int x, int y, int xSpeed) {
-        Sprite sprite = new Sprite(410, 199, 66, 21, 1, 2);
-
-        return new Alien(x, y, sprite, sprite.getWidth() / sprite.getNbFrames(), sprite.getHeight(), xSpeed);
+    private Alien() {
     }
 }
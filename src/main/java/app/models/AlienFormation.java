@@ -0,0 +1,190 @@
+package app.models;
+
+import lombok.Getter;
+
+/* Wave of aliens moving as a whole. Slots are laid out in rows and columns at fixed positions
+ * relative to the origin of the formation, so moving the wave only moves its origin */
+@Getter
+public class AlienFormation {
+    //Sprite, size and speed shared by all aliens of the formation
+    private final Sprite sprite;
+    private final int width;
+    private final int height;
+    private final int xSpeed;
+
+    //Slot of the alien at row and column is row * columns + column
+    private final int columns;
+    private final int rows;
+    //Distance between two columns and two rows
+    private final int pitchX;
+    private final int pitchY;
+
+    //Position of the top left slot, and at the previous simulation step to interpolate rendering
+    private int originX;
+    private int originY;
+    private int previousOriginX;
+    private int previousOriginY;
+
+    //Alive flags by slot
+    private final int[] alive;
+    //Dense list of alive slots, position of each slot in this list
+    private final int[] aliveSlots;
+    private final int[] alivePositions;
+    private int aliveCount = 0;
+
+    //Alive aliens in each column and row, giving bounds of the alive aliens
+    private final int[] columnAliveCounts;
+    private final int[] rowAliveCounts;
+    private int minColumn;
+    private int maxColumn;
+    private int minRow;
+    private int maxRow;
+
+    //Slots indexed at their position relative to the origin, never moved
+    private final SpatialGrid grid;
+    //Solid pixels of each frame of the aliens
+    private final CollisionMask[] masks;
+
+    public AlienFormation(Sprite sprite, int width, int height, int xSpeed, int columns, int rows, int spacing, int originX, int originY, int gridCellSize) {
+        this.sprite = sprite;
+        this.width = width;
+        this.height = height;
+        this.xSpeed = xSpeed;
+        this.columns = columns;
+        this.rows = rows;
+        this.pitchX = width + spacing;
+        this.pitchY = height + spacing;
+        this.originX = originX;
+        this.originY = originY;
+        this.previousOriginX = originX;
+        this.previousOriginY = originY;
+
+        int capacity = columns * rows;
+        this.alive = new int[capacity];
+        this.aliveSlots = new int[capacity];
+        this.alivePositions = new int[capacity];
+        this.columnAliveCounts = new int[columns];
+        this.rowAliveCounts = new int[rows];
+        this.grid = new SpatialGrid(columns * pitchX, rows * pitchY, gridCellSize);
+        this.masks = CollisionMask.of(sprite, width, height);
+
+        //All slots start alive
+        for ( int slot = 0; slot < capacity; slot++ ) {
+            alive[slot] = 1;
+            aliveSlots[slot] = slot;
+            alivePositions[slot] = slot;
+            columnAliveCounts[getColumn(slot)]++;
+            rowAliveCounts[getRow(slot)]++;
+            grid.insert(slot, getRelativeX(slot), getRelativeY(slot), getWidth(), getHeight());
+        }
+        this.aliveCount = capacity;
+        this.minColumn = 0;
+        this.maxColumn = columns - 1;
+        this.minRow = 0;
+        this.maxRow = rows - 1;
+    }
+
+    public void kill(int slot) {
+        if ( alive[slot] == 0 ) {
+            return;
+        }
+        alive[slot] = 0;
+        grid.remove(slot);
+
+        //Move last alive slot in place of the killed one
+        int position = alivePositions[slot];
+        int lastSlot = aliveSlots[--aliveCount];
+        aliveSlots[position] = lastSlot;
+        alivePositions[lastSlot] = position;
+
+        //Shrink bounds when the border column or row is empty, each one is passed once per wave
+        columnAliveCounts[getColumn(slot)]--;
+        rowAliveCounts[getRow(slot)]--;
+        if ( aliveCount == 0 ) {
+            return;
+        }
+        while ( columnAliveCounts[minColumn] == 0 ) { minColumn++; }
+        while ( columnAliveCounts[maxColumn] == 0 ) { maxColumn--; }
+        while ( rowAliveCounts[minRow] == 0 ) { minRow++; }
+        while ( rowAliveCounts[maxRow] == 0 ) { maxRow--; }
+    }
+
+    public int getAliveSlot(int index) {
+        return aliveSlots[index];
+    }
+
+    public boolean isAlive(int slot) {
+        return alive[slot] != 0;
+    }
+
+    public int getCapacity() { return alive.length; }
+    public int getColumn(int slot) { return slot % columns; }
+    public int getRow(int slot) { return slot / columns; }
+    public int getRelativeX(int slot) { return getColumn(slot) * pitchX; }
+    public int getRelativeY(int slot) { return getRow(slot) * pitchY; }
+
+    public int getX(int slot) { return originX + getRelativeX(slot); }
+    public int getY(int slot) { return originY + getRelativeY(slot); }
+
+    //Bounds of the alive aliens, only valid while some are alive
+    public int getMinX() { return originX + minColumn * pitchX; }
+    public int getMaxX() { return originX + maxColumn * pitchX + getWidth(); }
+    public int getMinY() { return originY + minRow * pitchY; }
+    public int getMaxY() { return originY + maxRow * pitchY + getHeight(); }
+
+    public void savePositions() {
+        previousOriginX = originX;
+        previousOriginY = originY;
+    }
+
+    public double getRenderX(int slot, double alpha) {
+        return previousOriginX + (originX - previousOriginX) * alpha + getRelativeX(slot);
+    }
+
+    public double getRenderY(int slot, double alpha) {
+        return previousOriginY + (originY - previousOriginY) * alpha + getRelativeY(slot);
+    }
+
+    public void moveRight() {
+        originX += xSpeed;
+    }
+
+    public void moveLeft() {
+        originX -= xSpeed;
+    }
+
+    public void moveDown() {
+        originY += height / 3;
+    }
+
+    //All aliens show the same frame, given by the animation clock
+    public int getFrame(long clock) {
+        return sprite.getFrames().frameAt(clock, 0);
+    }
+
+    /* Collect slots of alive aliens sharing a cell of the grid with the given area.
+     * Results are read with getResult(index), valid until the next query */
+    public int query(int x, int y, int width, int height) {
+        //Area outside of the bounds of alive aliens cannot hit any of them
+        if ( aliveCount == 0 || x >= getMaxX() || x + width <= getMinX() || y >= getMaxY() || y + height <= getMinY() ) {
+            return 0;
+        }
+        return grid.query(x - originX, y - originY, width, height);
+    }
+
+    public int getResult(int index) {
+        return grid.getResult(index);
+    }
+
+    public boolean intersects(int slot, int x, int y, int width, int height) {
+        int slotX = getX(slot);
+        int slotY = getY(slot);
+        return slotX < x + width && x < slotX + getWidth()
+                && slotY < y + height && y < slotY + getHeight();
+    }
+
+    /* Narrow phase, after the bounds intersect: whether solid pixels of the alien touch the mask at (x, y) */
+    public boolean overlaps(int slot, long clock, CollisionMask mask, int x, int y) {
+        return masks[getFrame(clock)].intersects(getX(slot), getY(slot), mask, x, y);
+    }
+}
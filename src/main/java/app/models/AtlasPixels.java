@@ -0,0 +1,104 @@
+package app.models;
+
+import lombok.Getter;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Pixels of a sprite sheet decoded without JavaFX, so they can be read by the CPU even headless */
+@Getter
+public class AtlasPixels {
+    //Sheets already decoded, keyed by resource path
+    private static final Map<String, AtlasPixels> atlases = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final int width;
+    private final int height;
+    //Straight ARGB, row by row
+    private final int[] argb;
+
+    //Frames already extracted, keyed by their source and drawn rects. Only used by the render thread
+    private long[] frameKeys = new long[64];
+    private SpritePixels[] frames = new SpritePixels[64];
+    private int framesCount = 0;
+
+    private AtlasPixels(String path) {
+        this.path = path;
+
+        URL url = AtlasPixels.class.getClassLoader().getResource(path);
+        if ( url == null ) {
+            throw new IllegalArgumentException("Sprite sheet not found: " + path);
+        }
+        BufferedImage image;
+        try {
+            image = ImageIO.read(url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.argb = image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    public static AtlasPixels get(String path) {
+        return atlases.computeIfAbsent(path, AtlasPixels::new);
+    }
+
+    /* Frame at (dx, dy) of size sourceWidth x sourceHeight, scaled to width x height */
+    public SpritePixels getFrame(int dx, int dy, int sourceWidth, int sourceHeight, int width, int height) {
+        //10 bits by value, rects of sheets are smaller than 1024
+        long key = (long) dx << 50 | (long) dy << 40 | (long) sourceWidth << 30 | (long) sourceHeight << 20 | (long) width << 10 | height;
+
+        //Open addressing, frames are never removed
+        int mask = frameKeys.length - 1;
+        int index = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while ( frames[index] != null ) {
+            if ( frameKeys[index] == key ) {
+                return frames[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        SpritePixels frame = new SpritePixels(this, dx, dy, sourceWidth, sourceHeight, width, height);
+        frameKeys[index] = key;
+        frames[index] = frame;
+        if ( ++framesCount * 2 > frameKeys.length ) {
+            grow();
+        }
+        return frame;
+    }
+
+    private void grow() {
+        long[] oldKeys = frameKeys;
+        SpritePixels[] oldFrames = frames;
+        frameKeys = new long[oldKeys.length * 2];
+        frames = new SpritePixels[oldFrames.length * 2];
+
+        int mask = frameKeys.length - 1;
+        for ( int i = 0; i < oldKeys.length; i++ ) {
+            if ( oldFrames[i] == null ) {
+                continue;
+            }
+            int index = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+            while ( frames[index] != null ) {
+                index = (index + 1) & mask;
+            }
+            frameKeys[index] = oldKeys[i];
+            frames[index] = oldFrames[i];
+        }
+    }
+
+    //Pixel of the sheet, transparent outside of it
+    public int getArgb(int x, int y) {
+        if ( x < 0 || y < 0 || x >= width || y >= height ) {
+            return 0;
+        }
+        return argb[y * width + x];
+    }
+}
@@ -1,18 +1,12 @@
 package app.models;
 
-import lombok.Getter;
-import lombok.Setter;
 
-@Getter @Setter
-public class Bullet extends AnimatedComponent {
-    private static final int xSpeed = 0;
+/* Sprites of the bullets, stored as entities of an archetype */
+public final class Bullet {
+    //Shared by all bullets, animated at each step
+    public static final Sprite BULLET1 = Sprite.vertical(591, 331, 26, 21, 3, 1);
+    public static final Sprite ENEMY_BULLET1 = Sprite.horizontal(178, 376, 20, 18, 1, 1);
 
-    private Bullet(int x, int y, Sprite sprite, int width, int height, int ySpeed) {
-        super(x, y, sprite, width, height, xSpeed, ySpeed);
-    }
-
-    public static Bullet bullet1(int x, int y, int ySpeed) {
-        Sprite sprite = new Sprite(591, 331, 26, 63, 1, 3);
-        return new Bullet(x, y, sprite, sprite.getWidth(), sprite.getHeight() / sprite.getNbFrames(), ySpeed);
+    private Bullet() {
     }
 }
@@ -0,0 +1,111 @@
+package app.models;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Solid pixels of a frame at the size it is drawn, one bit by pixel packed in rows of longs.
+ * Built from the alpha of the sprite sheet, so transparent padding of frames never collides */
+public final class CollisionMask {
+    //Pixels at least half opaque are solid
+    private static final int ALPHA_THRESHOLD = 128;
+
+    //Masks of each frame already built, keyed by frames and drawn size
+    private static final Map<String, CollisionMask[]> masks = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    //Bit c % 64 of word c / 64 of a row is the pixel of column c
+    private final int wordsPerRow;
+    private final long[] rows;
+
+    private CollisionMask(AtlasPixels atlas, int dx, int dy, int sourceWidth, int sourceHeight, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.rows = new long[wordsPerRow * height];
+
+        //A pixel is solid if any source pixel it covers is solid
+        for ( int y = 0; y < height; y++ ) {
+            int minY = y * sourceHeight / height;
+            int maxY = Math.max(minY + 1, (y + 1) * sourceHeight / height);
+            for ( int x = 0; x < width; x++ ) {
+                int minX = x * sourceWidth / width;
+                int maxX = Math.max(minX + 1, (x + 1) * sourceWidth / width);
+                if ( isSolid(atlas, dx + minX, dy + minY, dx + maxX, dy + maxY) ) {
+                    rows[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+                }
+            }
+        }
+    }
+
+    private static boolean isSolid(AtlasPixels atlas, int minX, int minY, int maxX, int maxY) {
+        for ( int y = minY; y < maxY; y++ ) {
+            for ( int x = minX; x < maxX; x++ ) {
+                if ( atlas.getArgb(x, y) >>> 24 >= ALPHA_THRESHOLD ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /* Masks of all frames of the sprite drawn at width x height, indexed by frame */
+    public static CollisionMask[] of(Sprite sprite, int width, int height) {
+        FrameTable frames = sprite.getFrames();
+        String key = sprite.getImagePath() + ':' + sprite.getDx() + ':' + sprite.getDy() + ':' + sprite.getWidth() + ':' + sprite.getHeight()
+                + ':' + frames.getDx(frames.getNbFrames() - 1) + ':' + frames.getDy(frames.getNbFrames() - 1) + ':' + frames.getNbFrames()
+                + ':' + width + ':' + height;
+
+        return masks.computeIfAbsent(key, lKey -> {
+            AtlasPixels atlas = AtlasPixels.get(sprite.getImagePath());
+            CollisionMask[] lMasks = new CollisionMask[frames.getNbFrames()];
+            for ( int frame = 0; frame < lMasks.length; frame++ ) {
+                lMasks[frame] = new CollisionMask(atlas, frames.getDx(frame), frames.getDy(frame), sprite.getWidth(), sprite.getHeight(), width, height);
+            }
+            return lMasks;
+        });
+    }
+
+    //64 pixels of the row from column, pixels outside of the mask are empty
+    private long getBits(int row, int column) {
+        int word = column >> 6;
+        int shift = column & 63;
+        int offset = row * wordsPerRow;
+
+        long bits = word < wordsPerRow ? rows[offset + word] >>> shift : 0;
+        if ( shift != 0 && word + 1 < wordsPerRow ) {
+            bits |= rows[offset + word + 1] << (64 - shift);
+        }
+        return bits;
+    }
+
+    /* Whether a solid pixel of this mask at (x, y) covers a solid pixel of the other mask at (otherX, otherY) */
+    public boolean intersects(int x, int y, CollisionMask other, int otherX, int otherY) {
+        int minX = Math.max(x, otherX);
+        int maxX = Math.min(x + width, otherX + other.width);
+        int minY = Math.max(y, otherY);
+        int maxY = Math.min(y + height, otherY + other.height);
+
+        for ( int row = minY; row < maxY; row++ ) {
+            //Rows are compared 64 pixels at a time, shifted to line up columns of both masks
+            for ( int column = minX; column < maxX; column += 64 ) {
+                long bits = getBits(row - y, column - x) & other.getBits(row - otherY, column - otherX);
+                if ( maxX - column < 64 ) {
+                    bits &= (1L << (maxX - column)) - 1;
+                }
+                if ( bits != 0 ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
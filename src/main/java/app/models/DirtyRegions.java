@@ -0,0 +1,132 @@
+package app.models;
+
+import java.util.Arrays;
+
+public class DirtyRegions {
+    //Above this number of regions, the whole area is redrawn
+    private static final int MAX_REGIONS = 64;
+    //Above this number of regions added, merging costs more than redrawing everything
+    private static final int MAX_ADDED_REGIONS = 4 * MAX_REGIONS;
+
+    private final int width;
+    private final int height;
+
+    //Regions stored as x, y, width, height
+    private int[] regions = new int[4 * 16];
+    private int count = 0;
+    private boolean full = false;
+
+    public DirtyRegions(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public void clear() {
+        count = 0;
+        full = false;
+    }
+
+    public void addAll() {
+        full = true;
+    }
+
+    public void add(int x, int y, int width, int height) {
+        //Keep only the part inside the area
+        int minX = Math.max(0, x);
+        int minY = Math.max(0, y);
+        int maxX = Math.min(this.width, x + width);
+        int maxY = Math.min(this.height, y + height);
+        if ( full || minX >= maxX || minY >= maxY ) {
+            return;
+        }
+
+        if ( count == MAX_ADDED_REGIONS ) {
+            full = true;
+            return;
+        }
+
+        if ( 4 * count == regions.length ) {
+            regions = Arrays.copyOf(regions, regions.length * 2);
+        }
+        regions[4 * count] = minX;
+        regions[4 * count + 1] = minY;
+        regions[4 * count + 2] = maxX - minX;
+        regions[4 * count + 3] = maxY - minY;
+        count++;
+    }
+
+    /* Merge overlapping regions until all of them are disjoint */
+    public void merge() {
+        if ( full ) {
+            return;
+        }
+
+        boolean merged = true;
+        while ( merged ) {
+            merged = false;
+            for ( int i = 0; i < count; i++ ) {
+                for ( int j = i + 1; j < count; j++ ) {
+                    if ( overlaps(i, j) ) {
+                        union(i, j);
+                        //Replace merged region by the last one
+                        count--;
+                        System.arraycopy(regions, 4 * count, regions, 4 * j, 4);
+                        j--;
+                        merged = true;
+                    }
+                }
+            }
+        }
+
+        if ( count > MAX_REGIONS ) {
+            full = true;
+        }
+    }
+
+    public int size() {
+        return full ? 1 : count;
+    }
+
+    public int getX(int index) { return full ? 0 : regions[4 * index]; }
+    public int getY(int index) { return full ? 0 : regions[4 * index + 1]; }
+    public int getWidth(int index) { return full ? width : regions[4 * index + 2]; }
+    public int getHeight(int index) { return full ? height : regions[4 * index + 3]; }
+
+    public boolean isEmpty() {
+        return !full && count == 0;
+    }
+
+    public boolean intersects(int x, int y, int width, int height) {
+        if ( full ) {
+            return true;
+        }
+
+        for ( int i = 0; i < count; i++ ) {
+            int rx = regions[4 * i];
+            int ry = regions[4 * i + 1];
+            if ( x < rx + regions[4 * i + 2] && rx < x + width
+                    && y < ry + regions[4 * i + 3] && ry < y + height ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean overlaps(int i, int j) {
+        return regions[4 * i] < regions[4 * j] + regions[4 * j + 2]
+                && regions[4 * j] < regions[4 * i] + regions[4 * i + 2]
+                && regions[4 * i + 1] < regions[4 * j + 1] + regions[4 * j + 3]
+                && regions[4 * j + 1] < regions[4 * i + 1] + regions[4 * i + 3];
+    }
+
+    private void union(int i, int j) {
+        int minX = Math.min(regions[4 * i], regions[4 * j]);
+        int minY = Math.min(regions[4 * i + 1], regions[4 * j + 1]);
+        int maxX = Math.max(regions[4 * i] + regions[4 * i + 2], regions[4 * j] + regions[4 * j + 2]);
+        int maxY = Math.max(regions[4 * i + 1] + regions[4 * i + 3], regions[4 * j + 1] + regions[4 * j + 3]);
+        regions[4 * i] = minX;
+        regions[4 * i + 1] = minY;
+        regions[4 * i + 2] = maxX - minX;
+        regions[4 * i + 3] = maxY - minY;
+    }
+}
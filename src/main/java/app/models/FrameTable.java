@@ -0,0 +1,51 @@
+package app.models;
+
+/* Offsets of the frames of a sprite in the sprite sheet, computed once and shared by all entities of a type.
+ * The frame shown is derived from an animation clock and the phase of the entity, so entities keep no animation state */
+public final class FrameTable {
+    private final int[] dx;
+    private final int[] dy;
+    //Ticks of the clock each frame is shown for, 0 if frames only follow the phase of the entity
+    private final int ticksPerFrame;
+
+    private FrameTable(int[] dx, int[] dy, int ticksPerFrame) {
+        this.dx = dx;
+        this.dy = dy;
+        this.ticksPerFrame = ticksPerFrame;
+    }
+
+    /* Frames laid out from left to right, or from top to bottom, from (dx, dy) */
+    public static FrameTable of(int dx, int dy, int stepX, int stepY, int nbFrames, int ticksPerFrame) {
+        int[] lDx = new int[nbFrames];
+        int[] lDy = new int[nbFrames];
+        for ( int i = 0; i < nbFrames; i++ ) {
+            lDx[i] = dx + i * stepX;
+            lDy[i] = dy + i * stepY;
+        }
+        return new FrameTable(lDx, lDy, ticksPerFrame);
+    }
+
+    public int getNbFrames() {
+        return dx.length;
+    }
+
+    public int getTicksPerFrame() {
+        return ticksPerFrame;
+    }
+
+    //Frame shown at this time of the clock, by an entity shifted of phase frames
+    public int frameAt(long clock, int phase) {
+        if ( ticksPerFrame == 0 ) {
+            return Math.floorMod(phase, dx.length);
+        }
+        return (int) Math.floorMod(Math.floorDiv(clock, ticksPerFrame) + phase, (long) dx.length);
+    }
+
+    public int getDx(int frame) {
+        return dx[frame];
+    }
+
+    public int getDy(int frame) {
+        return dy[frame];
+    }
+}
@@ -0,0 +1,155 @@
+package app.models;
+
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import lombok.Getter;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/* Software render surface: sprites are composited by the CPU in an array of premultiplied ARGB pixels,
+ * then changed regions are written to the image shown on screen once per frame.
+ * Transparent like the canvas, the wallpaper of the game layer shows through */
+@Getter
+public class Framebuffer implements RenderSurface {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    //Created with the node, a headless framebuffer only composites
+    private WritableImage image;
+    private ImageView imageView;
+    private PixelWriter pixelWriter;
+    private final PixelFormat<IntBuffer> pixelFormat = PixelFormat.getIntArgbPreInstance();
+
+    //Regions of the current frame, draws are clipped to them
+    private DirtyRegions dirtyRegions;
+
+    //Last sprite sheet drawn, most draws use the same one
+    private String lastImagePath;
+    private AtlasPixels lastAtlas;
+
+    public Framebuffer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    @Override
+    public Node getNode() {
+        if ( imageView == null ) {
+            image = new WritableImage(width, height);
+            pixelWriter = image.getPixelWriter();
+            imageView = new ImageView(image);
+            //Let mouse events reach the game layer like the canvas
+            imageView.setMouseTransparent(true);
+        }
+        return imageView;
+    }
+
+    @Override
+    public void begin(DirtyRegions dirtyRegions) {
+        this.dirtyRegions = dirtyRegions;
+    }
+
+    @Override
+    public void clear(int x, int y, int width, int height) {
+        int minX = Math.max(0, x);
+        int maxX = Math.min(this.width, x + width);
+        int maxY = Math.min(this.height, y + height);
+        if ( minX >= maxX ) {
+            return;
+        }
+        for ( int row = Math.max(0, y); row < maxY; row++ ) {
+            Arrays.fill(pixels, row * this.width + minX, row * this.width + maxX, 0);
+        }
+    }
+
+    @Override
+    public void draw(Sprite sprite, int dx, int dy, double x, double y, int width, int height) {
+        SpritePixels frame = getAtlas(sprite).getFrame(dx, dy, sprite.getWidth(), sprite.getHeight(), width, height);
+        int left = (int) Math.round(x);
+        int top = (int) Math.round(y);
+
+        //Pixels outside of the regions are already right, drawing them again would blend translucent pixels twice
+        if ( dirtyRegions == null ) {
+            draw(frame, left, top, 0, 0, this.width, this.height);
+            return;
+        }
+        for ( int i = 0; i < dirtyRegions.size(); i++ ) {
+            int regionX = dirtyRegions.getX(i);
+            int regionY = dirtyRegions.getY(i);
+            draw(frame, left, top, regionX, regionY, regionX + dirtyRegions.getWidth(i), regionY + dirtyRegions.getHeight(i));
+        }
+    }
+
+    /* Composite the frame at (x, y), clipped to the given area */
+    public void draw(SpritePixels frame, int x, int y, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY) {
+        int minX = Math.max(Math.max(x, clipMinX), 0) - x;
+        int maxX = Math.min(Math.min(x + frame.getWidth(), clipMaxX), this.width) - x;
+        int minY = Math.max(Math.max(y, clipMinY), 0) - y;
+        int maxY = Math.min(Math.min(y + frame.getHeight(), clipMaxY), this.height) - y;
+        if ( minX >= maxX || minY >= maxY ) {
+            return;
+        }
+
+        int[] source = frame.getPixels();
+        int[] spans = frame.getSpans();
+        int[] rowOffsets = frame.getRowOffsets();
+        for ( int row = minY; row < maxY; row++ ) {
+            int sourceOffset = row * frame.getWidth();
+            int offset = (y + row) * this.width + x;
+
+            for ( int span = rowOffsets[row]; span < rowOffsets[row + 1]; span++ ) {
+                int start = Math.max(spans[3 * span], minX);
+                int end = Math.min(spans[3 * span + 1], maxX);
+                if ( start >= end ) {
+                    continue;
+                }
+
+                //Opaque pixels replace the destination, others are blended over it
+                if ( spans[3 * span + 2] != 0 ) {
+                    System.arraycopy(source, sourceOffset + start, pixels, offset + start, end - start);
+                } else {
+                    for ( int i = start; i < end; i++ ) {
+                        pixels[offset + i] = blend(source[sourceOffset + i], pixels[offset + i]);
+                    }
+                }
+            }
+        }
+    }
+
+    //Source over destination, both premultiplied
+    private static int blend(int source, int destination) {
+        int inverse = 255 - (source >>> 24);
+        int alpha = (source >>> 24) + ((destination >>> 24) * inverse + 127) / 255;
+        int red = (source >> 16 & 0xFF) + ((destination >> 16 & 0xFF) * inverse + 127) / 255;
+        int green = (source >> 8 & 0xFF) + ((destination >> 8 & 0xFF) * inverse + 127) / 255;
+        int blue = (source & 0xFF) + ((destination & 0xFF) * inverse + 127) / 255;
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    @Override
+    public void end() {
+        //Send changed regions to the image, uploaded to the screen at the next pulse
+        if ( pixelWriter != null && dirtyRegions != null ) {
+            for ( int i = 0; i < dirtyRegions.size(); i++ ) {
+                int x = dirtyRegions.getX(i);
+                int y = dirtyRegions.getY(i);
+                pixelWriter.setPixels(x, y, dirtyRegions.getWidth(i), dirtyRegions.getHeight(i), pixelFormat, pixels, y * width + x, width);
+            }
+        }
+        dirtyRegions = null;
+    }
+
+    private AtlasPixels getAtlas(Sprite sprite) {
+        if ( !sprite.getImagePath().equals(lastImagePath) ) {
+            lastImagePath = sprite.getImagePath();
+            lastAtlas = AtlasPixels.get(lastImagePath);
+        }
+        return lastAtlas;
+    }
+}
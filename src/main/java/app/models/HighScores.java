@@ -0,0 +1,263 @@
+package app.models;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/* Scores of all games, kept across restarts.
+ * Scores are fixed size records of a memory mapped file, whose header also holds the count and the best scores,
+ * so opening it never reads the records. Each score is first appended to a journal, replayed if the game stopped
+ * before the mapped file was written back. The journal is emptied at each checkpoint */
+@Getter
+public class HighScores implements Closeable {
+    //Best scores kept in the header and shown on game over
+    public static final int TOP_SIZE = 10;
+    //Scores added between two checkpoints
+    private static final int CHECKPOINT_RECORDS = 64;
+
+    private static final int MAGIC = 0x53494853;
+    private static final int VERSION = 1;
+    private static final int JOURNAL_MAGIC = 0x5349484A;
+
+    //Header: magic, version, count, number of best scores and their record indexes
+    private static final int COUNT_OFFSET = 8;
+    private static final int TOP_COUNT_OFFSET = 16;
+    private static final int TOP_OFFSET = 24;
+    private static final int HEADER_SIZE = TOP_OFFSET + 8 * TOP_SIZE;
+
+    //Record: time, score, wave and name
+    public static final int NAME_BYTES = 16;
+    private static final int RECORD_SIZE = 8 + 4 + 4 + NAME_BYTES;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    //Journal: magic and count at the last checkpoint, then records with their index and checksum
+    private static final int JOURNAL_HEADER_SIZE = 12;
+    private static final int JOURNAL_ENTRY_SIZE = 8 + RECORD_SIZE + 4;
+
+    private final Path file;
+    private final Path journalFile;
+    private final FileChannel channel;
+    private final FileChannel journal;
+    private MappedByteBuffer records;
+    private long capacity;
+
+    private long count;
+    //Best scores, from the best one, with their record index
+    private final long[] topIndexes = new long[TOP_SIZE];
+    private final int[] topScores = new int[TOP_SIZE];
+    private int topCount;
+
+    private int uncheckpointedCount = 0;
+    //Reused to write each score
+    private final ByteBuffer entry = ByteBuffer.allocate(JOURNAL_ENTRY_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    private HighScores(Path file, Path journalFile) throws IOException {
+        this.file = file;
+        this.journalFile = journalFile;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if ( channel.size() == 0 ) {
+            map(INITIAL_CAPACITY);
+            records.putInt(0, MAGIC);
+            records.putInt(4, VERSION);
+            records.putLong(COUNT_OFFSET, 0);
+            records.putInt(TOP_COUNT_OFFSET, 0);
+        } else {
+            map((channel.size() - HEADER_SIZE) / RECORD_SIZE);
+            if ( records.getInt(0) != MAGIC || records.getInt(4) != VERSION ) {
+                throw new IOException("Not a high scores file: " + file);
+            }
+        }
+
+        //Only the header is read, whatever the number of scores
+        count = records.getLong(COUNT_OFFSET);
+        topCount = records.getInt(TOP_COUNT_OFFSET);
+        for ( int rank = 0; rank < topCount; rank++ ) {
+            topIndexes[rank] = records.getLong(TOP_OFFSET + 8 * rank);
+            topScores[rank] = getScore(topIndexes[rank]);
+        }
+
+        replayJournal();
+    }
+
+    public static HighScores open(Path file) throws IOException {
+        return new HighScores(file, file.resolveSibling(file.getFileName() + ".journal"));
+    }
+
+    private void map(long capacity) throws IOException {
+        this.capacity = capacity;
+        this.records = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * RECORD_SIZE);
+    }
+
+    /* Write again scores of the journal the mapped file may have lost, then start a new journal */
+    private void replayJournal() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+        if ( journal.read(header, 0) == JOURNAL_HEADER_SIZE && header.getInt(0) == JOURNAL_MAGIC ) {
+            long index = header.getLong(4);
+            long position = JOURNAL_HEADER_SIZE;
+
+            //Records after the last complete one were never added
+            entry.clear();
+            while ( journal.read(entry, position) == JOURNAL_ENTRY_SIZE && isValid(entry) && entry.getLong(0) == index ) {
+                write(index, entry.getLong(8), entry.getInt(16), entry.getInt(20), entry.array(), 8 + 16);
+                position += JOURNAL_ENTRY_SIZE;
+                index++;
+                entry.clear();
+            }
+            count = Math.max(count, index);
+            records.putLong(COUNT_OFFSET, count);
+        }
+        checkpoint();
+    }
+
+    private boolean isValid(ByteBuffer buffer) {
+        crc.reset();
+        crc.update(buffer.array(), 0, JOURNAL_ENTRY_SIZE - 4);
+        return buffer.getInt(JOURNAL_ENTRY_SIZE - 4) == (int) crc.getValue();
+    }
+
+    /* Add the score of a game and return its rank in the best scores, -1 if not in them */
+    public int add(String name, int score, int wave, long time) throws IOException {
+        long index = count;
+
+        //Journal first, forced to the disk, then the mapped file
+        byte[] nameBytes = toNameBytes(name);
+        entry.clear();
+        entry.putLong(index).putLong(time).putInt(score).putInt(wave).put(nameBytes);
+        crc.reset();
+        crc.update(entry.array(), 0, JOURNAL_ENTRY_SIZE - 4);
+        entry.putInt((int) crc.getValue());
+        entry.flip();
+        long position = JOURNAL_HEADER_SIZE + (long) uncheckpointedCount * JOURNAL_ENTRY_SIZE;
+        while ( entry.hasRemaining() ) {
+            position += journal.write(entry, position);
+        }
+        journal.force(false);
+
+        int rank = write(index, time, score, wave, nameBytes, 0);
+        count = index + 1;
+        records.putLong(COUNT_OFFSET, count);
+
+        if ( ++uncheckpointedCount == CHECKPOINT_RECORDS ) {
+            checkpoint();
+        }
+        return rank;
+    }
+
+    /* Write the record at index and insert it in the best scores, return its rank or -1 */
+    private int write(long index, long time, int score, int wave, byte[] name, int nameOffset) throws IOException {
+        if ( index >= capacity ) {
+            //Grow by doubling, the file is only mapped again a few times. A mapping is limited to 2 GB, about 67 million scores
+            map(Math.max(capacity * 2, index + 1));
+        }
+
+        int offset = (int) (HEADER_SIZE + index * RECORD_SIZE);
+        records.putLong(offset, time);
+        records.putInt(offset + 8, score);
+        records.putInt(offset + 12, wave);
+        for ( int i = 0; i < NAME_BYTES; i++ ) {
+            records.put(offset + 16 + i, name[nameOffset + i]);
+        }
+
+        return insertTop(index, score);
+    }
+
+    //Sorted insertion, ties keep the oldest score first
+    private int insertTop(long index, int score) {
+        for ( int rank = 0; rank < topCount; rank++ ) {
+            //Already inserted before the game stopped, maybe before its record was written back: inserted again
+            if ( topIndexes[rank] == index ) {
+                System.arraycopy(topIndexes, rank + 1, topIndexes, rank, topCount - rank - 1);
+                System.arraycopy(topScores, rank + 1, topScores, rank, topCount - rank - 1);
+                topCount--;
+                break;
+            }
+        }
+
+        int rank = topCount;
+        while ( rank > 0 && topScores[rank - 1] < score ) {
+            rank--;
+        }
+        if ( rank == TOP_SIZE ) {
+            return -1;
+        }
+
+        int moved = Math.min(topCount, TOP_SIZE - 1) - rank;
+        System.arraycopy(topIndexes, rank, topIndexes, rank + 1, moved);
+        System.arraycopy(topScores, rank, topScores, rank + 1, moved);
+        topIndexes[rank] = index;
+        topScores[rank] = score;
+        topCount = Math.min(topCount + 1, TOP_SIZE);
+
+        records.putInt(TOP_COUNT_OFFSET, topCount);
+        for ( int i = rank; i < topCount; i++ ) {
+            records.putLong(TOP_OFFSET + 8 * i, topIndexes[i]);
+        }
+        return rank;
+    }
+
+    /* Write the mapped file back to the disk, then empty the journal */
+    public void checkpoint() throws IOException {
+        records.force();
+
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC).putLong(count).flip();
+        journal.truncate(0);
+        journal.write(header, 0);
+        journal.force(false);
+        uncheckpointedCount = 0;
+    }
+
+    private static byte[] toNameBytes(String name) {
+        //UTF-8 cut to the size of the record, padded with zeros
+        byte[] bytes = new byte[NAME_BYTES];
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(encoded, 0, bytes, 0, Math.min(encoded.length, NAME_BYTES));
+        return bytes;
+    }
+
+    public long getTime(long index) {
+        return records.getLong((int) (HEADER_SIZE + index * RECORD_SIZE));
+    }
+
+    public int getScore(long index) {
+        return records.getInt((int) (HEADER_SIZE + index * RECORD_SIZE + 8));
+    }
+
+    public int getWave(long index) {
+        return records.getInt((int) (HEADER_SIZE + index * RECORD_SIZE + 12));
+    }
+
+    public String getName(long index) {
+        int offset = (int) (HEADER_SIZE + index * RECORD_SIZE + 16);
+        byte[] bytes = new byte[NAME_BYTES];
+        int length = 0;
+        while ( length < NAME_BYTES && records.get(offset + length) != 0 ) {
+            bytes[length] = records.get(offset + length);
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    //Record index of the score at this rank of the best scores
+    public long getTopIndex(int rank) {
+        return topIndexes[rank];
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpoint();
+        journal.close();
+        channel.close();
+    }
+}
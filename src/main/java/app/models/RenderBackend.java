@@ -0,0 +1,9 @@
+package app.models;
+
+/* How the game is drawn, chosen at startup with --renderer=canvas|framebuffer */
+public enum RenderBackend {
+    //One drawImage of the canvas by sprite, rasterized by the JavaFX pipeline
+    CANVAS,
+    //Sprites composited by the CPU in an array of pixels, sent to the screen once per frame
+    FRAMEBUFFER
+}
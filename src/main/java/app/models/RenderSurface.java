@@ -0,0 +1,23 @@
+package app.models;
+
+import javafx.scene.Node;
+
+/* Target of the render controller. Each frame, changed regions are cleared then sprites are drawn inside them */
+public interface RenderSurface {
+
+    //Draws are clipped to the regions until the end of the frame
+    void begin(DirtyRegions dirtyRegions);
+
+    void clear(int x, int y, int width, int height);
+
+    void draw(Sprite sprite, int dx, int dy, double x, double y, int width, int height);
+
+    void end();
+
+    //Node showing the surface in the game scene
+    Node getNode();
+
+    int getWidth();
+
+    int getHeight();
+}
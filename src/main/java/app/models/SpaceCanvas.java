@@ -1,48 +1,114 @@
 package app.models;
 
+import app.engine.GameWorld;
+import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter @Setter
-public class SpaceCanvas {
-    private static SpaceCanvas ourInstance = new SpaceCanvas();
+public class SpaceCanvas implements RenderSurface {
+    private static SpaceCanvas ourInstance;
+    //Chosen at startup, before the canvas is built
+    private static RenderBackend backend = RenderBackend.CANVAS;
     public static SpaceCanvas getInstance() {
+        //Built with the game view
+        if ( ourInstance == null ) {
+            ourInstance = new SpaceCanvas();
+        }
         return ourInstance;
     }
 
+    public static RenderBackend getBackend() {
+        return backend;
+    }
+
+    public static void setBackend(RenderBackend renderBackend) {
+        backend = renderBackend;
+    }
+
     private Canvas canvas;
     private GraphicsContext graphicsContext;
+    //Transparent layer over the game for score, lives and aliens left
+    private Canvas informationCanvas;
+    //Where the game is drawn, this canvas or a framebuffer
+    private RenderSurface surface;
+
+    //Last sprite sheet drawn, most draws use the same one
+    private String lastImagePath;
+    private Image lastImage;
 
     private SpaceCanvas() {
-        this.canvas = new Canvas(600, 650);
+        this.canvas = new Canvas(GameWorld.WIDTH, GameWorld.HEIGHT);
         this.graphicsContext = canvas.getGraphicsContext2D();
+        this.informationCanvas = new Canvas(GameWorld.WIDTH, GameWorld.HEIGHT);
+        //Let mouse events reach the game canvas
+        this.informationCanvas.setMouseTransparent(true);
+        this.surface = backend == RenderBackend.FRAMEBUFFER ? new Framebuffer(GameWorld.WIDTH, GameWorld.HEIGHT) : this;
     }
 
-    public void clear(AnimatedComponent animatedComponent) {
-        graphicsContext.clearRect(
-                animatedComponent.getX(),
-                animatedComponent.getY(),
-                animatedComponent.getWidth(),
-                animatedComponent.getHeight()
-        );
+    @Override
+    public Node getNode() {
+        return canvas;
     }
 
-    public void draw(AnimatedComponent animatedComponent) {
-        graphicsContext.drawImage(
-                animatedComponent.getSprite().getImage(),
-                animatedComponent.getSprite().getDx(),
-                animatedComponent.getSprite().getDy(),
-                animatedComponent.getSprite().getWidth(),
-                animatedComponent.getSprite().getHeight(),
-                animatedComponent.getX(),
-                animatedComponent.getY(),
-                animatedComponent.getWidth(),
-                animatedComponent.getHeight()
-        );
+    @Override
+    public int getWidth() {
+        return (int) canvas.getWidth();
     }
 
+    @Override
+    public int getHeight() {
+        return (int) canvas.getHeight();
+    }
 
+    @Override
+    public void begin(DirtyRegions dirtyRegions) {
+        //Only draw inside changed regions, so untouched pixels are never drawn twice
+        graphicsContext.save();
+        graphicsContext.beginPath();
+        for ( int i = 0; i < dirtyRegions.size(); i++ ) {
+            graphicsContext.rect(dirtyRegions.getX(i), dirtyRegions.getY(i), dirtyRegions.getWidth(i), dirtyRegions.getHeight(i));
+        }
+        graphicsContext.clip();
+    }
 
+    @Override
+    public void end() {
+        graphicsContext.restore();
+    }
+
+    @Override
+    public void clear(int x, int y, int width, int height) {
+        graphicsContext.clearRect(x, y, width, height);
+    }
+
+    public void clearAll() {
+        graphicsContext.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    @Override
+    public void draw(Sprite sprite, int dx, int dy, double x, double y, int width, int height) {
+        graphicsContext.drawImage(
+                getImage(sprite),
+                dx,
+                dy,
+                sprite.getWidth(),
+                sprite.getHeight(),
+                x,
+                y,
+                width,
+                height
+        );
+    }
+
+    private Image getImage(Sprite sprite) {
+        if ( !sprite.getImagePath().equals(lastImagePath) ) {
+            lastImagePath = sprite.getImagePath();
+            lastImage = SpriteSheet.get(lastImagePath).getImage();
+        }
+        return lastImage;
+    }
 }
@@ -0,0 +1,176 @@
+package app.models;
+
+import java.util.Arrays;
+
+public class SpatialGrid {
+    private static final int NO_RANGE = -1;
+
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+
+    //Ids stored in each cell
+    private final int[][] cells;
+    private final int[] cellCounts;
+
+    //Packed cell range occupied by each id (minColumn, minRow, maxColumn, maxRow)
+    private int[] ranges = new int[0];
+
+    //Query results, ids are stamped to be returned only once
+    private int[] queryStamps = new int[0];
+    private int stamp = 0;
+    private int[] results = new int[16];
+
+    public SpatialGrid(int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        if ( columns > 0xFF || rows > 0xFF ) {
+            throw new IllegalArgumentException("Grid of " + columns + "x" + rows + " cells is too large");
+        }
+
+        this.cells = new int[columns * rows][4];
+        this.cellCounts = new int[columns * rows];
+    }
+
+    public void insert(int id, int x, int y, int width, int height) {
+        ensureCapacity(id);
+        if ( ranges[id] != NO_RANGE ) {
+            remove(id);
+        }
+
+        int range = rangeOf(x, y, width, height);
+        ranges[id] = range;
+        addToCells(id, range);
+    }
+
+    public void move(int id, int x, int y, int width, int height) {
+        //Removed or never inserted ids are not moved back into the grid
+        if ( !contains(id) ) {
+            return;
+        }
+
+        int range = rangeOf(x, y, width, height);
+        //Nothing to do while the component stays in the same cells
+        if ( ranges[id] == range ) {
+            return;
+        }
+
+        removeFromCells(id, ranges[id]);
+        ranges[id] = range;
+        addToCells(id, range);
+    }
+
+    public void remove(int id) {
+        if ( id >= ranges.length || ranges[id] == NO_RANGE ) {
+            return;
+        }
+
+        removeFromCells(id, ranges[id]);
+        ranges[id] = NO_RANGE;
+    }
+
+    public void clear() {
+        Arrays.fill(cellCounts, 0);
+        Arrays.fill(ranges, NO_RANGE);
+    }
+
+    public boolean contains(int id) {
+        return id < ranges.length && ranges[id] != NO_RANGE;
+    }
+
+    /* Collect ids of every component sharing a cell with the given area.
+     * Results are read with getResult(index), valid until the next query */
+    public int query(int x, int y, int width, int height) {
+        int range = rangeOf(x, y, width, height);
+        int count = 0;
+
+        //New stamp, reset stamps on overflow
+        if ( ++stamp == Integer.MAX_VALUE ) {
+            Arrays.fill(queryStamps, 0);
+            stamp = 1;
+        }
+
+        for ( int row = minRow(range); row <= maxRow(range); row++ ) {
+            for ( int column = minColumn(range); column <= maxColumn(range); column++ ) {
+                int cell = row * columns + column;
+                int[] ids = cells[cell];
+
+                for ( int i = 0; i < cellCounts[cell]; i++ ) {
+                    int id = ids[i];
+                    if ( queryStamps[id] != stamp ) {
+                        queryStamps[id] = stamp;
+                        if ( count == results.length ) {
+                            results = Arrays.copyOf(results, count * 2);
+                        }
+                        results[count++] = id;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    public int getResult(int index) {
+        return results[index];
+    }
+
+    private void addToCells(int id, int range) {
+        for ( int row = minRow(range); row <= maxRow(range); row++ ) {
+            for ( int column = minColumn(range); column <= maxColumn(range); column++ ) {
+                int cell = row * columns + column;
+                if ( cellCounts[cell] == cells[cell].length ) {
+                    cells[cell] = Arrays.copyOf(cells[cell], cellCounts[cell] * 2);
+                }
+                cells[cell][cellCounts[cell]++] = id;
+            }
+        }
+    }
+
+    private void removeFromCells(int id, int range) {
+        for ( int row = minRow(range); row <= maxRow(range); row++ ) {
+            for ( int column = minColumn(range); column <= maxColumn(range); column++ ) {
+                int cell = row * columns + column;
+                int[] ids = cells[cell];
+
+                for ( int i = 0; i < cellCounts[cell]; i++ ) {
+                    if ( ids[i] == id ) {
+                        //Swap with last id of the cell
+                        ids[i] = ids[--cellCounts[cell]];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if ( id >= ranges.length ) {
+            int length = Math.max(id + 1, ranges.length * 2);
+            int oldLength = ranges.length;
+            ranges = Arrays.copyOf(ranges, length);
+            Arrays.fill(ranges, oldLength, length, NO_RANGE);
+            queryStamps = Arrays.copyOf(queryStamps, length);
+        }
+    }
+
+    private int rangeOf(int x, int y, int width, int height) {
+        //Components outside of the canvas are kept in border cells
+        int minColumn = clamp(x / cellSize, columns);
+        int minRow = clamp(y / cellSize, rows);
+        int maxColumn = clamp((x + width) / cellSize, columns);
+        int maxRow = clamp((y + height) / cellSize, rows);
+
+        return minColumn | minRow << 8 | maxColumn << 16 | maxRow << 24;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private static int minColumn(int range) { return range & 0xFF; }
+    private static int minRow(int range) { return (range >>> 8) & 0xFF; }
+    private static int maxColumn(int range) { return (range >>> 16) & 0xFF; }
+    private static int maxRow(int range) { return (range >>> 24) & 0xFF; }
+}
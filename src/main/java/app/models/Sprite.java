@@ -1,66 +1,49 @@
 package app.models;
 
-import javafx.scene.image.*;
-import javafx.scene.image.Image;
 import lombok.Getter;
-import lombok.Setter;
 
 
-@Getter @Setter
+/* Image of an entity type, shared by all entities of the type and never modified */
+@Getter
 public class Sprite {
-    private Image image;
-    private ImageView imageView;
-    private int dx;
-    private int dy;
-    private int width;
-    private int height;
-    private int currentFrame;
-    private int nbFrames;
-
-    public Sprite(int dx, int dy, int width, int height, int currentFrame, int nbFrames) {
-        this.dx = dx;
-        this.dy = dy;
+    //Resource path of the sprite sheet, decoded by the renderer
+    private final String imagePath;
+    //Size of one frame in the sprite sheet
+    private final int width;
+    private final int height;
+    private final FrameTable frames;
+
+    private Sprite(String imagePath, int width, int height, FrameTable frames) {
+        this.imagePath = imagePath;
         this.width = width;
         this.height = height;
-        this.currentFrame = currentFrame;
-        this.nbFrames = nbFrames;
-        this.image = new Image("images/components/invader_transparency.png");
-        this.imageView = new ImageView(image);
+        this.frames = frames;
     }
 
     public Sprite(String imagePath, int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.image = new Image(imagePath);
-        this.imageView = new ImageView(image);
+        this(imagePath, width, height, FrameTable.of(0, 0, 0, 0, 1, 1));
     }
 
-    public void nextFrameOffsetX() {
-        if( currentFrame < nbFrames ) {
-            //Next frame
-            this.dx += this.width;
-            this.currentFrame += 1;
-        }
-        else {
-            //Reset to frame 1
-            this.dx -= this.width * (nbFrames - 1);
-            this.currentFrame = 1;
-        }
+    //Frames of the sprite sheet side by side, from left to right
+    public static Sprite horizontal(int dx, int dy, int width, int height, int nbFrames, int ticksPerFrame) {
+        return new Sprite(SpriteSheet.INVADERS, width, height, FrameTable.of(dx, dy, width, 0, nbFrames, ticksPerFrame));
     }
 
-    public void nextFrameOffsetY() {
-        if( currentFrame < nbFrames ) {
-            //Next frame
-            this.dy += this.height;
-            this.currentFrame += 1;
-        }
-        else {
-            //Reset to frame 1
-            this.dy -= this.height * (nbFrames - 1);
-            this.currentFrame = 1;
+    //Frames of the sprite sheet one below the other, from top to bottom
+    public static Sprite vertical(int dx, int dy, int width, int height, int nbFrames, int ticksPerFrame) {
+        return new Sprite(SpriteSheet.INVADERS, width, height, FrameTable.of(dx, dy, 0, height, nbFrames, ticksPerFrame));
+    }
 
-        }
+    public int getNbFrames() {
+        return frames.getNbFrames();
     }
 
+    //Offset of the first frame
+    public int getDx() {
+        return frames.getDx(0);
+    }
 
+    public int getDy() {
+        return frames.getDy(0);
+    }
 }
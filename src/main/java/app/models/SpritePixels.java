@@ -0,0 +1,89 @@
+package app.models;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/* Frame of a sprite extracted at the size it is drawn, as premultiplied ARGB.
+ * Each row is split in spans of opaque or translucent pixels, transparent pixels are never visited */
+@Getter
+public class SpritePixels {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    //Spans stored as start, end and 1 if all pixels are opaque. Spans of row r are from rowOffsets[r] to rowOffsets[r + 1]
+    private final int[] spans;
+    private final int[] rowOffsets;
+
+    SpritePixels(AtlasPixels atlas, int dx, int dy, int sourceWidth, int sourceHeight, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+
+        //Each pixel is the average of the source pixels it covers, like a smoothed drawImage
+        for ( int y = 0; y < height; y++ ) {
+            int minY = y * sourceHeight / height;
+            int maxY = Math.max(minY + 1, (y + 1) * sourceHeight / height);
+            for ( int x = 0; x < width; x++ ) {
+                int minX = x * sourceWidth / width;
+                int maxX = Math.max(minX + 1, (x + 1) * sourceWidth / width);
+                pixels[y * width + x] = average(atlas, dx + minX, dy + minY, dx + maxX, dy + maxY);
+            }
+        }
+
+        //Spans of each row
+        int[] lSpans = new int[3 * 8];
+        int count = 0;
+        this.rowOffsets = new int[height + 1];
+        for ( int y = 0; y < height; y++ ) {
+            rowOffsets[y] = count;
+            int x = 0;
+            while ( x < width ) {
+                int alpha = pixels[y * width + x] >>> 24;
+                if ( alpha == 0 ) {
+                    x++;
+                    continue;
+                }
+                boolean isOpaque = alpha == 255;
+                int start = x;
+                while ( x < width && pixels[y * width + x] >>> 24 != 0 && (pixels[y * width + x] >>> 24 == 255) == isOpaque ) {
+                    x++;
+                }
+
+                if ( 3 * count == lSpans.length ) {
+                    lSpans = Arrays.copyOf(lSpans, lSpans.length * 2);
+                }
+                lSpans[3 * count] = start;
+                lSpans[3 * count + 1] = x;
+                lSpans[3 * count + 2] = isOpaque ? 1 : 0;
+                count++;
+            }
+        }
+        rowOffsets[height] = count;
+        this.spans = Arrays.copyOf(lSpans, 3 * count);
+    }
+
+    private static int average(AtlasPixels atlas, int minX, int minY, int maxX, int maxY) {
+        long a = 0, r = 0, g = 0, b = 0;
+        for ( int y = minY; y < maxY; y++ ) {
+            for ( int x = minX; x < maxX; x++ ) {
+                int argb = atlas.getArgb(x, y);
+                int alpha = argb >>> 24;
+                a += alpha;
+                r += (argb >> 16 & 0xFF) * alpha;
+                g += (argb >> 8 & 0xFF) * alpha;
+                b += (argb & 0xFF) * alpha;
+            }
+        }
+
+        //Premultiplied, color channels never exceed alpha
+        long count = (long) (maxX - minX) * (maxY - minY);
+        int alpha = (int) ((a + count / 2) / count);
+        long weight = 255 * count;
+        int red = (int) Math.min(alpha, (r + weight / 2) / weight);
+        int green = (int) Math.min(alpha, (g + weight / 2) / weight);
+        int blue = (int) Math.min(alpha, (b + weight / 2) / weight);
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+}
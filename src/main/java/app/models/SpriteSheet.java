@@ -0,0 +1,64 @@
+package app.models;
+
+import javafx.scene.image.Image;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class SpriteSheet {
+    public static final String INVADERS = "images/components/invader_transparency.png";
+
+    //Sheets already decoded, keyed by resource path
+    private static final Map<String, SpriteSheet> sheets = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong residentBytes = new AtomicLong();
+
+    private final String path;
+    private final Image image;
+
+    private SpriteSheet(String path) {
+        this.path = path;
+        this.image = new Image(path);
+    }
+
+    public static SpriteSheet get(String path) {
+        SpriteSheet sheet = sheets.get(path);
+        if ( sheet != null ) {
+            hits.incrementAndGet();
+            return sheet;
+        }
+
+        //Decode atlas only once, even if several threads ask for it
+        return sheets.computeIfAbsent(path, key -> {
+            misses.incrementAndGet();
+            SpriteSheet lSheet = new SpriteSheet(key);
+            residentBytes.addAndGet(lSheet.getSizeInBytes());
+            return lSheet;
+        });
+    }
+
+    public long getSizeInBytes() {
+        //Decoded images are stored as 32 bits ARGB
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    public static int getSheetsCount() {
+        return sheets.size();
+    }
+}
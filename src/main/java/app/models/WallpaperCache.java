@@ -0,0 +1,79 @@
+package app.models;
+
+import app.engine.GameWorld;
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/* Wallpapers decoded in background and downscaled once to the size they are shown at.
+ * Least recently used ones are evicted when the cache exceeds its memory budget */
+public class WallpaperCache {
+    public static final String[] PATHS = {
+            "images/wallpapers/backlit.jpg",
+            "images/wallpapers/astronomyDolomitesEvening.jpg",
+            "images/wallpapers/astronomyEvening.jpg",
+            "images/wallpapers/coldDaylight.jpg",
+            "images/wallpapers/environment.jpg",
+            "images/wallpapers/forest.jpg"
+    };
+
+    //Enough for all thumbnails and a few backgrounds of the canvas size
+    private static final long MAX_BYTES = 8 * 1024 * 1024;
+
+    //Images in access order, the first one is the least recently used
+    private static final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private static long residentBytes = 0;
+    private static long hits = 0;
+    private static long misses = 0;
+
+    /* Wallpaper scaled to the given size, its decoding may still be in progress */
+    public static synchronized Image get(String path, int width, int height) {
+        String key = path + '@' + width + 'x' + height;
+        Image image = images.get(key);
+        if ( image != null ) {
+            hits++;
+            return image;
+        }
+
+        //Decoded at requested size on a background thread, full size image is never kept
+        misses++;
+        image = new Image(path, width, height, false, true, true);
+        images.put(key, image);
+        residentBytes += getSizeInBytes(width, height);
+        evict();
+
+        return image;
+    }
+
+    /* Background of the game canvas */
+    public static Image getBackground(int indexWallpaper) {
+        return get(PATHS[indexWallpaper], GameWorld.WIDTH, GameWorld.HEIGHT);
+    }
+
+    private static void evict() {
+        //Last image added is always kept
+        while ( residentBytes > MAX_BYTES && images.size() > 1 ) {
+            String eldest = images.keySet().iterator().next();
+            Image image = images.remove(eldest);
+            residentBytes -= getSizeInBytes((int) image.getRequestedWidth(), (int) image.getRequestedHeight());
+        }
+    }
+
+    private static long getSizeInBytes(int width, int height) {
+        //Decoded images are stored as 32 bits ARGB
+        return (long) width * (long) height * 4;
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    public static synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+}
@@ -1,5 +1,6 @@
 package app.views;
 
+import app.models.HighScores;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -11,8 +12,12 @@ import lombok.Setter;
 @Getter @Setter
 public class GameOverView {
 
-    private static GameOverView ourInstance = new GameOverView();
+    private static GameOverView ourInstance;
     public static GameOverView getInstance() {
+        //Built on first navigation to its scene
+        if ( ourInstance == null ) {
+            ourInstance = new GameOverView();
+        }
         return ourInstance;
     }
 
@@ -21,6 +26,9 @@ public class GameOverView {
     private Button restartButton = new Button("Restart");
     private Button exitGame = new Button("Exit");
     private Label gameOver = new Label("Game Over !");
+    //One line by best score, filled on game over
+    private VBox leaderboard = new VBox();
+    private Label[] leaderboardLines = new Label[HighScores.TOP_SIZE];
 
     private GameOverView() {
         initGameOverLayer();
@@ -31,13 +39,22 @@ public class GameOverView {
     private void initGameOverLayer() {
         VBox vBox = new VBox();
         vBox.setAlignment(Pos.CENTER);
-        vBox.setSpacing(40);
+        vBox.setSpacing(30);
         vBox.setPrefSize(600, 600);
 
         gameOver.setId("gameover");
 
+        //Best scores, lines are reused for each game
+        leaderboard.setAlignment(Pos.CENTER);
+        leaderboard.setSpacing(6);
+        for ( int rank = 0; rank < leaderboardLines.length; rank++ ) {
+            leaderboardLines[rank] = new Label();
+            leaderboardLines[rank].getStyleClass().add("leaderboard");
+            leaderboard.getChildren().add(leaderboardLines[rank]);
+        }
+
         //Add components to VBox
-        vBox.getChildren().addAll(gameOver, restartButton, exitGame);
+        vBox.getChildren().addAll(gameOver, leaderboard, restartButton, exitGame);
 
         //Add vbox to menu layer
         gameOverLayer.getChildren().add(vBox);
@@ -1,23 +1,30 @@
 package app.views;
 
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.image.Image;
 import javafx.scene.layout.*;
 import lombok.Getter;
 import lombok.Setter;
 import app.models.SpaceCanvas;
+import app.models.WallpaperCache;
 
 @Setter @Getter
 public class GameView {
-    private static GameView ourInstance = new GameView();
+    private static GameView ourInstance;
     public static GameView getInstance() {
+        //Built on first navigation to its scene
+        if ( ourInstance == null ) {
+            ourInstance = new GameView();
+        }
         return ourInstance;
     }
 
     private Scene gameScene;
     private Pane gameLayer = new Pane();
-    private Canvas canvas = SpaceCanvas.getInstance().getCanvas();
+    //Canvas or image of the framebuffer, chosen at startup
+    private Node gameNode = SpaceCanvas.getInstance().getSurface().getNode();
+    private Canvas informationCanvas = SpaceCanvas.getInstance().getInformationCanvas();
 
 
     private GameView() {
@@ -30,15 +37,13 @@ public class GameView {
       
         //Add background image to game layer
         BackgroundImage backgroundImage= new BackgroundImage(
-                new Image("images/wallpapers/backlit.jpg",
-                        canvas.getWidth(),canvas.getHeight(),
-                        false,true),
+                WallpaperCache.getBackground(0),
                 BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.CENTER,
                 BackgroundSize.DEFAULT);
         //Set background image to pane
         gameLayer.setBackground(new Background(backgroundImage));
-        //Add canvas to root
-        gameLayer.getChildren().add(canvas);
+        //Add canvas to root, information drawn over the game
+        gameLayer.getChildren().addAll(gameNode, informationCanvas);
     }
 }
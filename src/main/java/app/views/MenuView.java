@@ -3,20 +3,26 @@ package app.views;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import lombok.Getter;
 import lombok.Setter;
+import app.models.SpriteSheet;
 
 @Setter @Getter
 public class MenuView {
-    private static MenuView ourInstance = new MenuView();
+    private static MenuView ourInstance;
     public static MenuView getInstance() {
+        //Built on first navigation to its scene
+        if ( ourInstance == null ) {
+            ourInstance = new MenuView();
+        }
         return ourInstance;
     }
 
+    public static final String LOGO = "images/logo_spaceInvaders.jpg";
+
     private Scene menuScene;
     private Pane menuLayer = new Pane();
     private Button newGameButton = new Button("New Game");
@@ -36,7 +42,7 @@ public class MenuView {
         vBox.setPrefSize(600, 600);
 
         //Add Space Invaders logo
-        ImageView imageViewLogo = new ImageView(new Image("/images/logo_spaceInvaders.jpg"));
+        ImageView imageViewLogo = new ImageView(SpriteSheet.get(LOGO).getImage());
 
         //Add components to VBox
         vBox.getChildren().addAll(imageViewLogo, newGameButton, optionsButton, exitGame);
@@ -7,7 +7,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToggleGroup;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -15,14 +14,19 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import lombok.Getter;
 import lombok.Setter;
+import app.models.WallpaperCache;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Setter @Getter
 public class OptionsView {
-    private static OptionsView ourInstance = new OptionsView();
+    private static OptionsView ourInstance;
     public static OptionsView getInstance() {
+        //Built on first navigation to its scene
+        if ( ourInstance == null ) {
+            ourInstance = new OptionsView();
+        }
         return ourInstance;
     }
 
@@ -46,6 +50,10 @@ public class OptionsView {
     private ToggleButton mediumButton = new ToggleButton("Medium");
     private ToggleButton hardButton = new ToggleButton("Hard");
 
+    private Label modeLabel = new Label("Mode");
+    private ToggleButton classicButton = new ToggleButton("Classic");
+    private ToggleButton bulletHellButton = new ToggleButton("Bullet hell");
+
     private Label alienLabel = new Label("Alien");
     private Button leftAlienButton = new Button("<");
     private Button rightAlienButton = new Button(">");
@@ -67,6 +75,7 @@ public class OptionsView {
 
         BorderPane wallpaperBorderPane = createWallpaperBorderPane();
         HBox levelHBox = createLevelHBox();
+        HBox modeHBox = createModeHBox();
         //BorderPane alienBorderPane = createAliensBorderPane();
         HBox cancelValidationHBox = createCancelValidateHBox();
 
@@ -74,6 +83,7 @@ public class OptionsView {
         vBox.getChildren().addAll(
                 wallpaperBorderPane,
                 levelHBox,
+                modeHBox,
                 cancelValidationHBox
         );
 
@@ -86,18 +96,9 @@ public class OptionsView {
     private BorderPane  createWallpaperBorderPane() {
         BorderPane borderPane = new BorderPane();
 
-        //Path of wallpapers
-        String imagesPath[] = {
-                "images/wallpapers/backlit.jpg",
-                "images/wallpapers/astronomyDolomitesEvening.jpg",
-                "images/wallpapers/astronomyEvening.jpg",
-                "images/wallpapers/coldDaylight.jpg",
-                "images/wallpapers/environment.jpg",
-                "images/wallpapers/forest.jpg"
-        };
-        //Add wallpapers choice
-        for ( int indexImagesPath = 0; indexImagesPath < imagesPath.length; indexImagesPath++ ) {
-            ImageView imageView = createImageView( imagesPath[ indexImagesPath ], 200, 200 );
+        //Add wallpapers choice, thumbnails are decoded in background
+        for ( int indexImagesPath = 0; indexImagesPath < WallpaperCache.PATHS.length; indexImagesPath++ ) {
+            ImageView imageView = createImageView( WallpaperCache.PATHS[ indexImagesPath ], 200, 200 );
             imageViewsWallpapers.add(imageView);
         }
 
@@ -140,6 +141,28 @@ public class OptionsView {
         return hBox;
     }
 
+    private HBox createModeHBox() {
+        HBox hBox = new HBox();
+        hBox.setAlignment(Pos.CENTER);
+        hBox.setSpacing(40);
+        hBox.setPrefSize(600, 100);
+
+        //Only one mode selected, classic by default
+        ToggleGroup toggleGroup = new ToggleGroup();
+        classicButton.setToggleGroup(toggleGroup);
+        bulletHellButton.setToggleGroup(toggleGroup);
+        classicButton.setSelected(true);
+
+        //Add components to HBox
+        hBox.getChildren().addAll(
+                modeLabel,
+                classicButton,
+                bulletHellButton
+        );
+
+        return hBox;
+    }
+
     private HBox createCancelValidateHBox() {
         HBox hBox = new HBox();
         hBox.setAlignment(Pos.CENTER);
@@ -159,7 +182,7 @@ public class OptionsView {
     }
 
     private ImageView createImageView(String imagePath, int width, int height) {
-        ImageView imageView = new ImageView(new Image( imagePath ));
+        ImageView imageView = new ImageView(WallpaperCache.get( imagePath, width, height ));
         imageView.setFitHeight( width );
         imageView.setFitWidth( height );
 
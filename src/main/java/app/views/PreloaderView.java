@@ -0,0 +1,50 @@
+package app.views;
+
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class PreloaderView {
+    private static PreloaderView ourInstance;
+    public static PreloaderView getInstance() {
+        if ( ourInstance == null ) {
+            ourInstance = new PreloaderView();
+        }
+        return ourInstance;
+    }
+
+    private Scene preloaderScene;
+    private Pane preloaderLayer = new Pane();
+    private Label loadingLabel = new Label("Loading");
+    private ProgressBar progressBar = new ProgressBar(0);
+
+    private PreloaderView() {
+        initPreloaderLayer();
+        //No stylesheet, shown before it is loaded
+        this.preloaderScene = new Scene( this.preloaderLayer );
+    }
+
+    private void initPreloaderLayer() {
+        VBox vBox = new VBox();
+        vBox.setAlignment(Pos.CENTER);
+        vBox.setSpacing(20);
+        vBox.setPrefSize(600, 600);
+
+        loadingLabel.setStyle("-fx-text-fill: white");
+        progressBar.setPrefWidth(300);
+
+        //Add components to VBox
+        vBox.getChildren().addAll(loadingLabel, progressBar);
+
+        //Add vbox to preloader layer
+        preloaderLayer.getChildren().add(vBox);
+        //Set background color to preloader layer
+        preloaderLayer.setStyle("-fx-background-color: black");
+    }
+}
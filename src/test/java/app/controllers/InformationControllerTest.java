@@ -0,0 +1,87 @@
+package app.controllers;
+
+import app.models.Player;
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* Only the information which changed is redrawn, the others stay on the canvas */
+class InformationControllerTest {
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 650;
+
+    @BeforeAll
+    static void startPlatform() throws Exception {
+        //Headless toolkit rendering with the software pipeline, no display needed
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+    }
+
+    @AfterAll
+    static void exitPlatform() {
+        Platform.exit();
+    }
+
+    @Test
+    void scoreChangeKeepsAliensNumber() throws Exception {
+        onFxThread(() -> {
+            Canvas canvas = new Canvas(WIDTH, HEIGHT);
+            InformationController informationController = new InformationController(canvas.getGraphicsContext2D(), canvas) {
+                //Fonts need native libraries which may be missing, a box stands for each text
+                @Override
+                void drawText(String text, double x, double y, double maxWidth) {
+                    canvas.getGraphicsContext2D().fillRect(x, y - 10, Math.min(8 * text.length(), maxWidth), 10);
+                }
+            };
+            Player player = new Player("Player 1", 5, 5);
+
+            player.setScore(100);
+            informationController.writeInformation(player, 40);
+            assertTrue(isDrawn(canvas, WIDTH - 150, 0, 150, 30), "Aliens number drawn");
+
+            //Missed bullet: score changes, aliens number does not
+            player.setScore(80);
+            informationController.writeInformation(player, 40);
+            assertTrue(isDrawn(canvas, 0, 0, WIDTH - 150, 30), "Score drawn");
+            assertTrue(isDrawn(canvas, WIDTH - 150, 0, 150, 30), "Aliens number still drawn after a score change");
+        });
+    }
+
+    //Whether some pixel of the area is not transparent
+    private static boolean isDrawn(Canvas canvas, int x, int y, int width, int height) {
+        SnapshotParameters snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        WritableImage image = canvas.snapshot(snapshotParameters, null);
+        PixelReader pixelReader = image.getPixelReader();
+        for ( int row = y; row < y + height; row++ ) {
+            for ( int column = x; column < x + width; column++ ) {
+                if ( pixelReader.getArgb(column, row) >>> 24 != 0 ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void onFxThread(Runnable runnable) throws Exception {
+        FutureTask<Void> task = new FutureTask<>(runnable, null);
+        Platform.runLater(task);
+        task.get();
+    }
+}
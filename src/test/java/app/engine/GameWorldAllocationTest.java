@@ -0,0 +1,75 @@
+package app.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/* Steps of a game in progress allocate nothing, so they never cause a collection */
+class GameWorldAllocationTest {
+    private static final int WARMUP_STEPS = 20_000;
+    private static final int MEASURED_STEPS = 2_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void classicStepAllocatesNothing() {
+        //Hard preset with 10 times more rows, in a world tall enough to keep them away from the spaceship
+        Difficulty difficulty = Difficulty.HARD;
+        int aliensPerColumn = (difficulty.getAliensPerColumn() + 1) * 10 - 1;
+        int height = GameWorld.HEIGHT + (aliensPerColumn + 1) * 31;
+        GameWorld world = new GameWorld(GameWorld.WIDTH, height, difficulty.getAliensPerRow(), aliensPerColumn, difficulty.getAlienXSpeed(), GameWorld.BULLETS_CAPACITY, GameMode.CLASSIC);
+
+        assertStepsAllocateNothing(world);
+    }
+
+    @Test
+    void bulletHellStepAllocatesNothing() {
+        Difficulty difficulty = Difficulty.MEDIUM;
+        GameWorld world = new GameWorld(difficulty.getAliensPerRow(), difficulty.getAliensPerColumn(), difficulty.getAlienXSpeed(), GameMode.BULLET_HELL);
+        //Keep spaceship out of the canvas, a hit would clear the bullets
+        world.getSpaceship().getX()[0] = -world.getWidth();
+
+        assertStepsAllocateNothing(world);
+    }
+
+    private static void assertStepsAllocateNothing(GameWorld world) {
+        GameInput input = new GameInput();
+        long threadId = Thread.currentThread().getId();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        //Let the JIT compile the step, new waves allocate so they are only created here
+        for ( int i = 0; i < WARMUP_STEPS; i++ ) {
+            step(world, input);
+        }
+        int wave = world.getWave();
+        int lives = world.getPlayer().getLives();
+
+        //Bytes allocated by reading the counter itself
+        long overhead = -THREADS.getThreadAllocatedBytes(threadId) + THREADS.getThreadAllocatedBytes(threadId);
+
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for ( int i = 0; i < MEASURED_STEPS; i++ ) {
+            step(world, input);
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        //Same wave and lives, only the steady state was measured
+        assertEquals(wave, world.getWave());
+        assertEquals(lives, world.getPlayer().getLives());
+        assertEquals(0, allocated, "Bytes allocated by " + MEASURED_STEPS + " steps");
+    }
+
+    //Fire every 8 steps and move from side to side, like a player
+    private static void step(GameWorld world, GameInput input) {
+        if ( world.getTick() % 8 == 0 ) {
+            input.pressFire();
+        }
+        if ( world.getTick() % 2 == 0 ) {
+            input.press(world.getTick() % 400 < 200 ? GameKey.LEFT : GameKey.RIGHT);
+        }
+        world.step(input);
+        input.clear();
+    }
+}